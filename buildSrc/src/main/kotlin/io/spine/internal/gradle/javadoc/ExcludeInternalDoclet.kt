@@ -26,7 +26,9 @@
 
 package io.spine.internal.gradle.javadoc
 
+import io.spine.internal.gradle.javadoc.ExcludeInternalDoclet.Companion.lockName
 import io.spine.internal.gradle.javadoc.ExcludeInternalDoclet.Companion.taskName
+import io.spine.internal.gradle.javadoc.ExcludeInternalDoclet.Companion.workerTaskName
 import io.spine.internal.gradle.sourceSets
 import org.gradle.api.Project
 import org.gradle.api.artifacts.Configuration
@@ -53,12 +55,42 @@ class ExcludeInternalDoclet(val version: String) {
          */
         const val className = "io.spine.tools.javadoc.ExcludeInternalDoclet"
 
+        /**
+         * The fully-qualified class name of the doclet written against the `com.sun.javadoc` API
+         * of JDK 8.
+         *
+         * @see DocletApi.JDK8
+         */
+        const val jdk8ClassName = "io.spine.tools.javadoc.filter.doclet.ExcludeInternal"
+
+        /**
+         * The fully-qualified class name of the doclet written against the `jdk.javadoc.doclet`
+         * API of JDK 9 and later.
+         *
+         * @see DocletApi.JDK9
+         */
+        const val jdk9ClassName = "io.spine.tools.javadoc.filter.doclet.ExcludeInternalDoclet"
+
         /**
          * The name of the helper task which configures the Javadoc processing
          * to exclude `@Internal` types.
          */
         const val taskName = "noInternalJavadoc"
 
+        /**
+         * The name of the task which generates Javadoc excluding `@Internal` types
+         * without starting a new JVM.
+         *
+         * @see ExcludeInternalJavadoc
+         */
+        const val workerTaskName = "noInternalJavadocInWorker"
+
+        /**
+         * The name of the shared build service which makes the in-process runs of
+         * the doclet go one at a time.
+         */
+        internal const val lockName = "excludeInternalDocletLock"
+
         private fun createConfiguration(project: Project): Configuration {
             return project.configurations.create(configurationName)
         }
@@ -75,12 +107,29 @@ class ExcludeInternalDoclet(val version: String) {
         project.appendCustomJavadocTask(configuration)
     }
 
+    /**
+     * Creates a task for the [project] which generates Javadoc excluding the types
+     * annotated as `@Internal` through the Gradle Worker API.
+     *
+     * Unlike the task registered by [registerTaskIn], this one does not start a new JVM
+     * for each module. See [ExcludeInternalJavadoc] for details.
+     *
+     * The task is registered under [workerTaskName].
+     */
+    fun registerWorkerTaskIn(project: Project) {
+        val configuration = addTo(project)
+        project.appendWorkerJavadocTask(configuration)
+    }
+
     /**
      * Creates a configuration for the doclet in the given project and adds it to its dependencies.
      *
      * @return added configuration
      */
     private fun addTo(project: Project): Configuration {
+        project.configurations.findByName(configurationName)?.let {
+            return it
+        }
         val configuration = createConfiguration(project)
         project.dependencies.add(configuration.name, dependency)
         return configuration
@@ -111,3 +160,28 @@ private fun Project.appendCustomJavadocTask(excludeInternalDoclet: Configuration
         JavadocConfig.registerCustomTags(docletOptions)
     }
 }
+
+private fun Project.appendWorkerJavadocTask(excludeInternalDoclet: Configuration) {
+    val javadocTask = tasks.javadocTask()
+    val lock = gradle.sharedServices.registerIfAbsent(lockName, DocletLock::class.java) {
+        maxParallelUsages.set(1)
+    }
+    tasks.register(workerTaskName, ExcludeInternalJavadoc::class.java) {
+        source.from(sourceSets.getByName("main").allJava.filter {
+            !it.absolutePath.contains("generated")
+        })
+        classpath.from(javadocTask.classpath)
+        docletClasspath.from(excludeInternalDoclet)
+        options.addAll(JavadocConfig.tags.flatMap { listOf("-tag", it.toString()) })
+        destinationDir.convention(layout.buildDirectory.dir("docs/$workerTaskName"))
+        docletApi.convention(DocletApi.current())
+        docletApi.finalizeValueOnRead()
+    }
+    afterEvaluate {
+        tasks.named(workerTaskName, ExcludeInternalJavadoc::class.java) {
+            if (docletApi.get().runsInDaemon) {
+                usesService(lock)
+            }
+        }
+    }
+}
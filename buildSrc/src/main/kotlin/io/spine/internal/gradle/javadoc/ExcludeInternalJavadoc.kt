@@ -0,0 +1,316 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.internal.gradle.javadoc
+
+import java.io.File
+import javax.inject.Inject
+import javax.tools.ToolProvider
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.JavaVersion
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.provider.ListProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.services.BuildService
+import org.gradle.api.services.BuildServiceParameters
+import org.gradle.api.tasks.Classpath
+import org.gradle.api.tasks.IgnoreEmptyDirectories
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.SkipWhenEmpty
+import org.gradle.api.tasks.TaskAction
+import org.gradle.workers.WorkAction
+import org.gradle.workers.WorkParameters
+import org.gradle.workers.WorkQueue
+import org.gradle.workers.WorkerExecutor
+
+/**
+ * Generates Javadoc with the [ExcludeInternalDoclet] without starting a new JVM.
+ *
+ * The standard [Javadoc][org.gradle.api.tasks.javadoc.Javadoc] task runs the `javadoc` tool
+ * in a new process, so each module pays for loading the tool, the doclet and its dependencies,
+ * and for warming up the JIT. This task runs the doclet through the Worker API instead:
+ *
+ *  - The doclet of [DocletApi.JDK8] runs in the Gradle daemon, in a class loader isolated from
+ *    the build and holding [docletClasspath] and `tools.jar`. Gradle reuses the class loader
+ *    for the tasks with the same classpath, so the successive modules run on warm classes.
+ *    The runs are done one at a time, as the standard doclet of JDK 8 keeps its
+ *    configuration in static fields.
+ *
+ *  - The doclet of [DocletApi.JDK9] runs in a worker daemon, as it needs the internals of
+ *    the `jdk.javadoc` module to be exported. Gradle keeps the worker daemon alive and
+ *    reuses it for the successive modules, and for the following builds. Such runs do not
+ *    share any state, so the tasks of several modules may run in parallel.
+ *
+ * The doclet is chosen by the [docletApi]. By default, it is the one written against the API
+ * of the current JDK.
+ *
+ * The task is registered by [ExcludeInternalDoclet.registerWorkerTaskIn].
+ */
+abstract class ExcludeInternalJavadoc : DefaultTask() {
+
+    /**
+     * The Java source files to document.
+     */
+    @get:InputFiles
+    @get:SkipWhenEmpty
+    @get:IgnoreEmptyDirectories
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val source: ConfigurableFileCollection
+
+    /**
+     * The classpath of the documented sources.
+     */
+    @get:Classpath
+    abstract val classpath: ConfigurableFileCollection
+
+    /**
+     * The classpath of the doclet.
+     */
+    @get:Classpath
+    abstract val docletClasspath: ConfigurableFileCollection
+
+    /**
+     * The options passed to the `javadoc` tool, such as `-tag` or `-excludeannotation`.
+     *
+     * The destination, the encoding and the classpath are passed by the task.
+     */
+    @get:Input
+    abstract val options: ListProperty<String>
+
+    /**
+     * The directory to write the documentation to.
+     */
+    @get:OutputDirectory
+    abstract val destinationDir: DirectoryProperty
+
+    /**
+     * The doclet API, the doclet of which generates the documentation.
+     */
+    @get:Input
+    abstract val docletApi: Property<DocletApi>
+
+    @get:Inject
+    abstract val workerExecutor: WorkerExecutor
+
+    @TaskAction
+    fun generate() {
+        val api = docletApi.get()
+        api.checkAvailable()
+        val destination = destinationDir.get().asFile
+        project.delete(destination)
+        destination.mkdirs()
+        val arguments = mutableListOf(
+            "-d", destination.absolutePath,
+            "-encoding", JavadocConfig.encoding.name,
+            "-classpath", classpath.asPath
+        )
+        arguments.addAll(options.get())
+        queue(api).submit(RunDoclet::class.java) {
+            this.docletApi.set(api)
+            this.arguments.set(arguments)
+            this.sources.from(source)
+        }
+    }
+
+    private fun queue(api: DocletApi): WorkQueue {
+        if (api.runsInDaemon) {
+            return workerExecutor.classLoaderIsolation {
+                classpath.from(docletClasspath, toolsJar())
+            }
+        }
+        return workerExecutor.processIsolation {
+            classpath.from(docletClasspath)
+            forkOptions.jvmArgs(exportToolInternals)
+        }
+    }
+}
+
+/**
+ * The API of the `javadoc` tool, against which a doclet is written.
+ */
+enum class DocletApi(
+
+    /**
+     * The fully-qualified class name of the [ExcludeInternalDoclet] written against this API.
+     */
+    val className: String,
+
+    /**
+     * Tells if the doclet runs in the Gradle daemon, rather than in a worker daemon.
+     *
+     * Such runs are done one at a time through the [DocletLock].
+     */
+    val runsInDaemon: Boolean
+) {
+
+    /**
+     * The `com.sun.javadoc` API, available up to JDK 12.
+     */
+    JDK8(ExcludeInternalDoclet.jdk8ClassName, runsInDaemon = true) {
+        override fun isAvailable(version: JavaVersion): Boolean =
+            version < JavaVersion.VERSION_13
+    },
+
+    /**
+     * The `jdk.javadoc.doclet` API, available since JDK 9.
+     */
+    JDK9(ExcludeInternalDoclet.jdk9ClassName, runsInDaemon = false) {
+        override fun isAvailable(version: JavaVersion): Boolean =
+            version.isJava9Compatible
+    };
+
+    /**
+     * Tells if the `javadoc` tool of the given Java version supports this API.
+     */
+    abstract fun isAvailable(version: JavaVersion): Boolean
+
+    /**
+     * Throws a [GradleException] if the `javadoc` tool of the current JDK does not
+     * support this API.
+     */
+    fun checkAvailable() {
+        val version = JavaVersion.current()
+        if (!isAvailable(version)) {
+            throw GradleException("The doclet API `$name` is not available on Java $version.")
+        }
+    }
+
+    companion object {
+
+        /**
+         * Obtains the API of the `javadoc` tool of the current JDK.
+         */
+        fun current(): DocletApi =
+            if (JavaVersion.current().isJava9Compatible) JDK9 else JDK8
+    }
+}
+
+/**
+ * The JVM argument which opens the internals of the `javadoc` tool to the doclet.
+ */
+private const val exportToolInternals =
+    "--add-exports=jdk.javadoc/jdk.javadoc.internal.tool=ALL-UNNAMED"
+
+/**
+ * Obtains the `tools.jar` of the current JDK 8, which holds the `javadoc` tool.
+ */
+private fun toolsJar(): List<File> {
+    val javaHome = File(System.getProperty("java.home"))
+    val jar = javaHome.resolve("../lib/tools.jar").normalize()
+    return if (jar.exists()) listOf(jar) else listOf()
+}
+
+/**
+ * A shared build service, the usages of which are limited to one at a time.
+ *
+ * Used by the [ExcludeInternalJavadoc] tasks, the doclet of which
+ * [runs in the Gradle daemon][DocletApi.runsInDaemon], to avoid running it concurrently.
+ */
+abstract class DocletLock : BuildService<BuildServiceParameters.None>
+
+/**
+ * Runs the `javadoc` tool with the [ExcludeInternalDoclet] in the current JVM.
+ *
+ * The doclet of [DocletApi.JDK9] is run through the `javax.tools` API, and the doclet of
+ * [DocletApi.JDK8] is run by the entry point of the legacy `javadoc` tool.
+ */
+abstract class RunDoclet : WorkAction<RunDoclet.Parameters> {
+
+    interface Parameters : WorkParameters {
+
+        /**
+         * The API, the doclet of which is run.
+         */
+        val docletApi: Property<DocletApi>
+
+        /**
+         * The options of the `javadoc` tool.
+         */
+        val arguments: ListProperty<String>
+
+        /**
+         * The Java source files to document.
+         */
+        val sources: ConfigurableFileCollection
+    }
+
+    override fun execute() {
+        val arguments = parameters.arguments.get()
+        val sources = parameters.sources.files
+        val succeeded = when (parameters.docletApi.get()) {
+            DocletApi.JDK9 -> runTool(arguments, sources)
+            DocletApi.JDK8 -> runMain(arguments, sources)
+        }
+        if (!succeeded) {
+            throw GradleException("Javadoc generation failed. See the output for details.")
+        }
+    }
+
+    /**
+     * Runs the `javadoc` tool of JDK 9 and later through the `javax.tools` API.
+     */
+    private fun runTool(arguments: List<String>, sources: Set<File>): Boolean {
+        val tool = ToolProvider.getSystemDocumentationTool()
+        val doclet = Class.forName(DocletApi.JDK9.className)
+        tool.getStandardFileManager(null, null, null).use { fileManager ->
+            val units = fileManager.getJavaFileObjectsFromFiles(sources)
+            return tool.getTask(null, fileManager, null, doclet, arguments, units)
+                .call()
+        }
+    }
+
+    /**
+     * Runs the legacy `javadoc` tool by its entry point.
+     *
+     * The tool is called reflectively, as on JDK 8 it is only available in the class loader
+     * of the worker.
+     */
+    private fun runMain(arguments: List<String>, sources: Set<File>): Boolean {
+        val main = Class.forName("com.sun.tools.javadoc.Main")
+        val execute = main.getMethod(
+            "execute",
+            String::class.java,
+            String::class.java,
+            ClassLoader::class.java,
+            Array<String>::class.java
+        )
+        val args = arguments + sources.map { it.absolutePath }
+        val exitCode = execute.invoke(
+            null,
+            "javadoc",
+            DocletApi.JDK8.className,
+            javaClass.classLoader,
+            args.toTypedArray()
+        ) as Int
+        return exitCode == 0
+    }
+}
@@ -24,15 +24,193 @@
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-import io.spine.internal.dependency.JavaX
+import io.spine.internal.dependency.ErrorProne
+import io.spine.internal.dependency.FindBugs
 import io.spine.internal.dependency.Grpc
+import io.spine.internal.dependency.Guava
+import io.spine.internal.dependency.JavaPoet
+import io.spine.internal.dependency.JavaX
+import io.spine.internal.dependency.Jmh
+import io.spine.internal.dependency.JUnit
 import io.spine.internal.dependency.Spine
+import io.spine.internal.dependency.Truth
+import io.spine.internal.gradle.javadoc.ExcludeInternalJavadoc
+
+val toolsJar = files("${System.getProperty("java.home")}/../lib/tools.jar")
+
+/**
+ * The rules of handling the calls of the Doclet API methods, shared by the doclet and
+ * the [generator] of its delegates.
+ *
+ * The rules are compiled apart from the doclet, as the doclet is compiled along with
+ * the generated delegates.
+ */
+val dispatch: SourceSet by sourceSets.creating
+
+/**
+ * The program generating the delegates for the interfaces of the Doclet API.
+ */
+val generator: SourceSet by sourceSets.creating
+
+/**
+ * The JMH benchmarks of the doclet.
+ */
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName]
+    .extendsFrom(configurations.implementation.get())
+
+/**
+ * The doclet for the `jdk.javadoc.doclet` API, which replaced the one of `tools.jar` in JDK 9.
+ */
+val jdk11: SourceSet by sourceSets.creating
+
+/**
+ * The tests of the [jdk11] doclet, which are run on JDK 11.
+ */
+val jdk11Test: SourceSet by sourceSets.creating
+
+configurations[jdk11Test.implementationConfigurationName]
+    .extendsFrom(configurations[jdk11.implementationConfigurationName])
 
 dependencies {
-    implementation(files("${System.getProperty("java.home")}/../lib/tools.jar"))
+    implementation(toolsJar)
+    implementation(dispatch.output)
     implementation(JavaX.annotations)
     implementation(Grpc.core)
     val spine = Spine(project)
     implementation(spine.base)
     testImplementation(spine.testlib)
+
+    "dispatchImplementation"(toolsJar)
+    "dispatchImplementation"(Guava.lib)
+    "dispatchCompileOnly"(FindBugs.annotations)
+    ErrorProne.annotations.forEach { "dispatchCompileOnly"(it) }
+
+    "generatorImplementation"(dispatch.output)
+    "generatorImplementation"(toolsJar)
+    "generatorImplementation"(Guava.lib)
+    "generatorImplementation"(JavaPoet.lib)
+    "generatorCompileOnly"(FindBugs.annotations)
+    ErrorProne.annotations.forEach { "generatorCompileOnly"(it) }
+
+    "jmhImplementation"(Guava.lib)
+    "jmhImplementation"(Jmh.core)
+    "jmhAnnotationProcessor"(Jmh.generator)
+
+    "jdk11Implementation"(sourceSets.main.get().output)
+    "jdk11Implementation"(Guava.lib)
+    "jdk11Implementation"(spine.base)
+    "jdk11CompileOnly"(FindBugs.annotations)
+    ErrorProne.annotations.forEach { "jdk11CompileOnly"(it) }
+
+    "jdk11TestImplementation"(jdk11.output)
+    "jdk11TestImplementation"(sourceSets.test.get().output)
+    JUnit.api.forEach { "jdk11TestImplementation"(it) }
+    Truth.libs.forEach { "jdk11TestImplementation"(it) }
+    "jdk11TestImplementation"(gradleTestKit())
+    "jdk11TestRuntimeOnly"(JUnit.runner)
+    "jdk11TestRuntimeOnly"(dispatch.output)
+}
+
+val delegatesDir = "$buildDir/generated/sources/delegates/java"
+
+val generateDelegates by tasks.registering(JavaExec::class) {
+    description = "Generates the delegates for the interfaces of the Doclet API."
+    classpath = generator.runtimeClasspath
+    mainClass.set("io.spine.tools.javadoc.filter.generator.DelegateGenerator")
+    args(delegatesDir)
+    outputs.dir(delegatesDir)
+    doFirst {
+        delete(delegatesDir)
+    }
+}
+
+sourceSets.main {
+    java.srcDir(generateDelegates)
+}
+
+val jmhResults = "$buildDir/reports/jmh/results.json"
+
+/**
+ * Runs the JMH benchmarks with the GC profiler and writes the results to [jmhResults].
+ *
+ * Pass a regular expression matching the benchmarks to run via the `jmh.include` property,
+ * e.g. `-Pjmh.include=CreateArray`.
+ */
+val runJmh by tasks.registering(JavaExec::class) {
+    description = "Runs the JMH benchmarks of the doclet."
+    group = "benchmark"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val include = project.findProperty("jmh.include")
+    if (include != null) {
+        args(include)
+    }
+    args("-prof", "gc", "-rf", "json", "-rff", jmhResults)
+    outputs.file(jmhResults)
+    outputs.upToDateWhen { false }
+    doFirst {
+        file(jmhResults).parentFile.mkdirs()
+    }
+}
+
+/**
+ * Opens the implementation of the Javadoc tool, which is extended by the [jdk11] doclet.
+ */
+val exportJavadocTool = "--add-exports=jdk.javadoc/jdk.javadoc.internal.tool=ALL-UNNAMED"
+
+val jdk11Version = JavaLanguageVersion.of(11)
+
+listOf(jdk11, jdk11Test).forEach { sourceSet ->
+    tasks.named<JavaCompile>(sourceSet.compileJavaTaskName) {
+        javaCompiler.set(javaToolchains.compilerFor {
+            languageVersion.set(jdk11Version)
+        })
+        sourceCompatibility = jdk11Version.toString()
+        targetCompatibility = jdk11Version.toString()
+        options.compilerArgs.add(exportJavadocTool)
+    }
+}
+
+/**
+ * The classpath of the [ExcludeInternalJavadoc] task of `buildSrc`, which is run by
+ * the functional tests of the [jdk11Test] source set.
+ */
+val excludeInternalJavadocClasspath = files(
+    listOf(ExcludeInternalJavadoc::class.java, KotlinVersion::class.java).map {
+        File(it.protectionDomain.codeSource.location.toURI())
+    }
+)
+
+val testJdk11 by tasks.registering(Test::class) {
+    description = "Runs the tests of the doclet for the `jdk.javadoc.doclet` API on JDK 11."
+    group = "verification"
+    testClassesDirs = jdk11Test.output.classesDirs
+    classpath = jdk11Test.runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(jdk11Version)
+    })
+    jvmArgs(exportJavadocTool)
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "-DexcludeInternalJavadoc.classpath=${excludeInternalJavadocClasspath.asPath}",
+            "-Ddoclet.classpath=${jdk11Test.runtimeClasspath.asPath}"
+        )
+    })
+    useJUnitPlatform {
+        includeEngines("junit-jupiter")
+    }
+}
+
+tasks.check {
+    dependsOn(testJdk11)
+}
+
+tasks.jar {
+    from(dispatch.output)
+    from(jdk11.output)
 }
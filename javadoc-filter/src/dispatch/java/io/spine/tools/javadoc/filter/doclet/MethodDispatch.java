@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.PackageDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
+
+import java.lang.reflect.Method;
+
+/**
+ * Describes how the calls of a method of the Doclet API are handled by the doclet.
+ *
+ * <p>These are the rules both for the reflective proxies of the doclet, which follow
+ * a {@code DispatchPlan} of the method, and for the generated {@code Delegate}s.
+ * The rules are compiled apart from the doclet, so that the generator of the delegates,
+ * which are compiled along with the doclet, may use them too.
+ */
+@Immutable
+public final class MethodDispatch {
+
+    private static final String DOCLET_API_PACKAGE = Doc.class.getPackage()
+                                                              .getName() + '.';
+
+    /**
+     * The names of the methods, the excluded types returned by which are replaced with
+     * their visible supertypes.
+     */
+    private static final ImmutableSet<String> TYPE_REWRITING_METHODS = ImmutableSet.of(
+            "superclassType", "superclass", "interfaceTypes", "returnType"
+    );
+
+    /**
+     * The names of the methods of {@link RootDoc}, which list the documented elements.
+     */
+    private static final ImmutableSet<String> ROOT_LISTING_METHODS = ImmutableSet.of(
+            "classes", "specifiedClasses", "specifiedPackages"
+    );
+
+    private final boolean unwrapsArguments;
+    private final boolean processesResult;
+    private final boolean cachesResult;
+    private final boolean rewritesTypes;
+    private final Scoping scoping;
+
+    private MethodDispatch(Method method) {
+        Class<?> returnType = method.getReturnType();
+        this.unwrapsArguments = IgnoredMethod.isIgnored(method.getName());
+        this.processesResult = needsProcessing(returnType);
+        this.cachesResult = processesResult
+                && returnType.isArray()
+                && cacheable(method.getParameterTypes());
+        this.rewritesTypes = TYPE_REWRITING_METHODS.contains(method.getName())
+                && (returnType == Type.class
+                || returnType == Type[].class
+                || returnType == ClassDoc.class);
+        this.scoping = Scoping.of(method);
+    }
+
+    /**
+     * Obtains the dispatch of the passed method.
+     */
+    public static MethodDispatch of(Method method) {
+        return new MethodDispatch(method);
+    }
+
+    /**
+     * Tells if the values of the passed type may need to be filtered or wrapped.
+     *
+     * <p>These are the values of the Doclet API types, their arrays, and the values of
+     * the {@code Object} type, which may hold documentation elements at runtime.
+     * Values of all other types, such as primitives and strings, are returned as is.
+     */
+    private static boolean needsProcessing(Class<?> type) {
+        if (type.isArray()) {
+            return needsProcessing(type.getComponentType());
+        }
+        return type == Object.class
+                || type.getName()
+                       .startsWith(DOCLET_API_PACKAGE);
+    }
+
+    /**
+     * Tells if the results of a method with the passed parameters can be cached.
+     */
+    static boolean cacheable(Class<?>[] parameterTypes) {
+        for (Class<?> type : parameterTypes) {
+            if (!type.isPrimitive() && type != String.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells if the arguments of the method should be unwrapped before passing them
+     * to the target.
+     *
+     * @see IgnoredMethod
+     */
+    public boolean unwrapsArguments() {
+        return unwrapsArguments;
+    }
+
+    /**
+     * Tells if the value returned by the method may need to be filtered or wrapped.
+     */
+    public boolean processesResult() {
+        return processesResult;
+    }
+
+    /**
+     * Tells if the filtered arrays returned by the method are cached by the doclet.
+     */
+    public boolean cachesResult() {
+        return cachesResult;
+    }
+
+    /**
+     * Tells if the excluded types returned by the method are replaced with
+     * their visible supertypes.
+     */
+    public boolean rewritesTypes() {
+        return rewritesTypes;
+    }
+
+    /**
+     * Tells how the values returned by the method are scoped to the module
+     * the documentation is generated for.
+     */
+    public Scoping scoping() {
+        return scoping;
+    }
+
+    /**
+     * The ways the values returned by the methods of the documentation elements are scoped
+     * to a module.
+     */
+    public enum Scoping {
+
+        /**
+         * The value is returned as is.
+         */
+        NONE,
+
+        /**
+         * The {@linkplain Doc#isIncluded() inclusion} of an element is denied
+         * if the element belongs to another module.
+         */
+        INCLUSION,
+
+        /**
+         * The listed elements of other modules are dropped.
+         *
+         * <p>Applies to the elements listed by the root and by the packages. Other arrays,
+         * such as the interfaces of a class, may refer to the classes of other modules.
+         */
+        LISTING,
+
+        /**
+         * The destination directory in the options of the root is replaced with
+         * the one of the module.
+         */
+        OPTIONS;
+
+        /**
+         * Obtains the scoping of the values returned by the passed method.
+         */
+        private static Scoping of(Method method) {
+            String name = method.getName();
+            Class<?> declaringClass = method.getDeclaringClass();
+            Class<?> returnType = method.getReturnType();
+            if ("isIncluded".equals(name) && returnType == boolean.class) {
+                return INCLUSION;
+            }
+            if (declaringClass == RootDoc.class && "options".equals(name)) {
+                return OPTIONS;
+            }
+            boolean listsElements = returnType.isArray()
+                    && Doc.class.isAssignableFrom(returnType.getComponentType());
+            boolean listing = declaringClass == PackageDoc.class
+                    || (declaringClass == RootDoc.class && ROOT_LISTING_METHODS.contains(name));
+            return listsElements && listing ? LISTING : NONE;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.generator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import com.sun.javadoc.AnnotatedType;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationTypeDoc;
+import com.sun.javadoc.AnnotationTypeElementDoc;
+import com.sun.javadoc.AnnotationValue;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ConstructorDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.ExecutableMemberDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MemberDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.PackageDoc;
+import com.sun.javadoc.ParamTag;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ParameterizedType;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.SeeTag;
+import com.sun.javadoc.SerialFieldTag;
+import com.sun.javadoc.SourcePosition;
+import com.sun.javadoc.Tag;
+import com.sun.javadoc.ThrowsTag;
+import com.sun.javadoc.Type;
+import com.sun.javadoc.TypeVariable;
+import com.sun.javadoc.WildcardType;
+import io.spine.tools.javadoc.filter.doclet.MethodDispatch;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.reflect.Modifier.isStatic;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates the delegates for the interfaces of the Doclet API.
+ *
+ * <p>A delegate implements an interface by calling the same method of its target directly.
+ * The values of the Doclet API types returned by the target are passed to
+ * the {@code ExcludeInternal} doclet, which filters and wraps them. The values of other types,
+ * such as primitives and strings, are returned as is. The calls are handled by the same
+ * {@link MethodDispatch} rules as the ones of the reflective proxies of the doclet.
+ *
+ * <p>Along with the delegates, the {@code Delegates} class is generated. It provides
+ * the factories of the delegates by the interfaces they implement.
+ */
+public final class DelegateGenerator {
+
+    private static final String TARGET_PACKAGE = "io.spine.tools.javadoc.filter.doclet";
+
+    private static final ClassName DELEGATE = ClassName.get(TARGET_PACKAGE, "Delegate");
+    private static final ClassName FACTORY = DELEGATE.nestedClass("Factory");
+    private static final ClassName DOCLET = ClassName.get(TARGET_PACKAGE, "ExcludeInternal");
+    private static final ClassName HANDLER = ClassName.get(TARGET_PACKAGE, "ExcludeHandler");
+
+    /**
+     * The interfaces to generate delegates for.
+     */
+    private static final ImmutableList<Class<?>> INTERFACES = ImmutableList.of(
+            AnnotatedType.class,
+            AnnotationDesc.class,
+            AnnotationDesc.ElementValuePair.class,
+            AnnotationTypeDoc.class,
+            AnnotationTypeElementDoc.class,
+            AnnotationValue.class,
+            ClassDoc.class,
+            ConstructorDoc.class,
+            Doc.class,
+            ExecutableMemberDoc.class,
+            FieldDoc.class,
+            MemberDoc.class,
+            MethodDoc.class,
+            PackageDoc.class,
+            ParamTag.class,
+            Parameter.class,
+            ParameterizedType.class,
+            ProgramElementDoc.class,
+            RootDoc.class,
+            SeeTag.class,
+            SerialFieldTag.class,
+            SourcePosition.class,
+            Tag.class,
+            ThrowsTag.class,
+            Type.class,
+            TypeVariable.class,
+            WildcardType.class
+    );
+
+    /** Prevents instantiation of this utility class. */
+    private DelegateGenerator() {
+    }
+
+    /**
+     * Writes the generated sources to the directory passed as the only argument.
+     */
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length == 1,
+                      "Expected the target directory as the only argument, got: %s.",
+                      Arrays.toString(args));
+        Path targetDir = Paths.get(args[0]);
+        ImmutableMap.Builder<Class<?>, ClassName> delegates = ImmutableMap.builder();
+        for (Class<?> iface : INTERFACES) {
+            TypeSpec delegate = delegateOf(iface);
+            write(delegate, targetDir);
+            delegates.put(iface, ClassName.get(TARGET_PACKAGE, delegate.name));
+        }
+        write(factories(delegates.build()), targetDir);
+    }
+
+    private static void write(TypeSpec type, Path targetDir) throws IOException {
+        JavaFile.builder(TARGET_PACKAGE, type)
+                .addFileComment("Generated by $L. Do not edit.",
+                                DelegateGenerator.class.getSimpleName())
+                .skipJavaLangImports(true)
+                .build()
+                .writeTo(targetDir);
+    }
+
+    private static TypeSpec delegateOf(Class<?> iface) {
+        ClassName type = ClassName.get(iface);
+        MethodSpec constructor = MethodSpec.constructorBuilder()
+                .addParameter(DOCLET, "doclet")
+                .addParameter(type, "target")
+                .addStatement("super(doclet, target)")
+                .build();
+        TypeSpec.Builder delegate = TypeSpec
+                .classBuilder(iface.getSimpleName() + "Delegate")
+                .addJavadoc("The delegate for {@link $T}.\n", type)
+                .addModifiers(FINAL)
+                .superclass(ParameterizedTypeName.get(DELEGATE, type))
+                .addSuperinterface(type)
+                .addMethod(constructor);
+        for (Method method : methodsOf(iface)) {
+            delegate.addMethod(delegating(method));
+        }
+        return delegate.build();
+    }
+
+    /**
+     * Obtains the methods to be implemented by the delegate of the passed interface.
+     *
+     * <p>The methods of {@code Object} are implemented by the base class of the delegates,
+     * so they are omitted. If the same method is declared by several super-interfaces,
+     * the declaration with the most specific return type is taken.
+     *
+     * @return the methods sorted by their signatures
+     */
+    private static Collection<Method> methodsOf(Class<?> iface) {
+        Map<String, Method> methods = new TreeMap<>();
+        for (Method method : iface.getMethods()) {
+            if (isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+            methods.merge(signature, method, DelegateGenerator::moreSpecific);
+        }
+        return methods.values();
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException ignored) {
+            return false;
+        }
+    }
+
+    private static Method moreSpecific(Method first, Method second) {
+        boolean firstIsNarrower = second.getReturnType()
+                                        .isAssignableFrom(first.getReturnType());
+        return firstIsNarrower ? first : second;
+    }
+
+    private static MethodSpec delegating(Method method) {
+        String name = method.getName();
+        Class<?> returnType = method.getReturnType();
+        MethodSpec.Builder result = MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(PUBLIC)
+                .returns(returnType);
+        MethodDispatch dispatch = MethodDispatch.of(method);
+        boolean unwrap = dispatch.unwrapsArguments();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<CodeBlock> arguments = new ArrayList<>(parameterTypes.length);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            String parameter = "arg" + i;
+            result.addParameter(parameterType, parameter);
+            arguments.add(argument(parameter, parameterType, unwrap));
+        }
+        for (Class<?> exception : method.getExceptionTypes()) {
+            result.addException(exception);
+        }
+        result.addStatement("doclet.stats().invoked($S)", name);
+        CodeBlock call = CodeBlock.of("target.$N($L)", name, CodeBlock.join(arguments, ", "));
+        call = dispatch.rewritesTypes()
+               ? CodeBlock.of("doclet.visible($L)", call)
+               : scoped(dispatch.scoping(), call);
+        if (returnType == void.class) {
+            result.addStatement("$L", call);
+        } else if (!dispatch.processesResult()) {
+            result.addStatement("return $L", call);
+        } else if (dispatch.cachesResult()) {
+            CodeBlock.Builder cached = CodeBlock.builder()
+                    .add("return ($T) doclet.filteredArray(target, $S, $T.class, () -> $L",
+                         returnType, name, returnType.getComponentType(), call);
+            for (int i = 0; i < parameterTypes.length; i++) {
+                cached.add(", arg$L", i);
+            }
+            result.addStatement(cached.add(")").build());
+        } else if (returnType == Object.class) {
+            result.addStatement("return doclet.process($L, $T.class)", call, returnType);
+        } else {
+            result.addStatement("return ($T) doclet.process($L, $T.class)",
+                                returnType, call, returnType);
+        }
+        return result.build();
+    }
+
+    /**
+     * Wraps the passed call of the target method, so that the returned value is scoped
+     * to the module the documentation is generated for.
+     *
+     * @return the wrapped call, or the passed one if the value is not scoped
+     */
+    private static CodeBlock scoped(MethodDispatch.Scoping scoping, CodeBlock call) {
+        switch (scoping) {
+            case INCLUSION:
+                return CodeBlock.of("doclet.included(target, $L)", call);
+            case LISTING:
+                return CodeBlock.of("doclet.inScope($L)", call);
+            case OPTIONS:
+                return CodeBlock.of("doclet.scopedOptions($L)", call);
+            default:
+                return call;
+        }
+    }
+
+    private static CodeBlock argument(String parameter, Class<?> type, boolean unwrap) {
+        if (!unwrap || type.isPrimitive()) {
+            return CodeBlock.of("$N", parameter);
+        }
+        if (type == Object.class) {
+            return CodeBlock.of("$T.unwrap($N)", HANDLER, parameter);
+        }
+        return CodeBlock.of("($T) $T.unwrap($N)", type, HANDLER, parameter);
+    }
+
+    /**
+     * Generates the class providing the factories of the delegates.
+     */
+    private static TypeSpec factories(Map<Class<?>, ClassName> delegates) {
+        TypeName classType = ParameterizedTypeName.get(ClassName.get(Class.class),
+                                                       WildcardTypeName.subtypeOf(Object.class));
+        TypeName mapType = ParameterizedTypeName.get(ClassName.get(ImmutableMap.class),
+                                                     classType, FACTORY);
+        CodeBlock.Builder initializer = CodeBlock.builder()
+                .add("$T.<$T, $T>builder()", ImmutableMap.class, classType, FACTORY)
+                .indent();
+        delegates.forEach((iface, delegate) -> initializer.add(
+                "\n.put($T.class, (doclet, target) -> new $T(doclet, ($T) target))",
+                iface, delegate, iface
+        ));
+        initializer.add("\n.build()")
+                   .unindent();
+        FieldSpec factories = FieldSpec.builder(mapType, "factories", PRIVATE, STATIC, FINAL)
+                .initializer(initializer.build())
+                .build();
+        MethodSpec constructor = MethodSpec.constructorBuilder()
+                .addModifiers(PRIVATE)
+                .build();
+        MethodSpec getter = MethodSpec.methodBuilder("factories")
+                .addJavadoc("Obtains the factories of the delegates, by the interfaces"
+                                    + " they implement.\n")
+                .addModifiers(STATIC)
+                .returns(mapType)
+                .addStatement("return factories")
+                .build();
+        return TypeSpec.classBuilder("Delegates")
+                .addJavadoc("Provides the factories of the generated delegates.\n")
+                .addModifiers(FINAL)
+                .addField(factories)
+                .addMethod(constructor)
+                .addMethod(getter)
+                .build();
+    }
+}
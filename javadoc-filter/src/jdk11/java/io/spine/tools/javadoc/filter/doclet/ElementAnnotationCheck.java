@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.Immutable;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Checks if an {@linkplain Element element} of the Java language model has one of
+ * the specified annotations.
+ *
+ * <p>Annotations are matched by the qualified names of their types, the same way
+ * the {@link AnnotationCheck} does it for the documentation of the old Doclet API.
+ */
+@Immutable
+final class ElementAnnotationCheck {
+
+    private final ImmutableSet<String> annotationNames;
+
+    /**
+     * Creates a new check.
+     *
+     * @param annotationNames
+     *         the qualified names of the annotation types to check
+     */
+    ElementAnnotationCheck(ImmutableSet<String> annotationNames) {
+        this.annotationNames = annotationNames;
+    }
+
+    boolean test(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (matchesName(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesName(AnnotationMirror annotation) {
+        TypeElement type = (TypeElement) annotation.getAnnotationType()
+                                                   .asElement();
+        String name = type.getQualifiedName()
+                          .toString();
+        return annotationNames.contains(name);
+    }
+}
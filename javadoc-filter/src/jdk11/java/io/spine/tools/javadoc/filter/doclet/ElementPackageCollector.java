@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.errorprone.annotations.Immutable;
+import jdk.javadoc.doclet.DocletEnvironment;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toList;
+import static javax.lang.model.util.ElementFilter.packagesIn;
+import static javax.lang.model.util.ElementFilter.typesIn;
+
+/**
+ * Collects {@linkplain PackageElement packages} that match
+ * the specified {@linkplain ElementAnnotationCheck check}.
+ *
+ * <p>Collects the packages the same way the {@link PackageCollector} does it
+ * for the old Doclet API.
+ */
+@Immutable
+final class ElementPackageCollector {
+
+    private static final Comparator<PackageElement> byName =
+            Comparator.comparing(p -> p.getQualifiedName().toString());
+
+    private final ElementAnnotationCheck check;
+
+    ElementPackageCollector(ElementAnnotationCheck check) {
+        this.check = check;
+    }
+
+    /**
+     * Collects the {@linkplain DocletEnvironment#getSpecifiedElements() specified} packages
+     * of the passed environment, and the packages of the specified types of this environment.
+     *
+     * <p>The included subpackages of the collected packages are collected as well.
+     *
+     * @return a set sorted by the package {@linkplain PackageElement#getQualifiedName() names}
+     */
+    Set<PackageElement> collect(DocletEnvironment env) {
+        Set<? extends Element> specified = env.getSpecifiedElements();
+        Elements elements = env.getElementUtils();
+        Set<PackageElement> packages = newSortedSet();
+        for (PackageElement pckg : packagesIn(specified)) {
+            if (check.test(pckg)) {
+                packages.add(pckg);
+            }
+        }
+        for (TypeElement type : typesIn(specified)) {
+            PackageElement pckg = elements.getPackageOf(type);
+            if (check.test(pckg)) {
+                packages.add(pckg);
+            }
+        }
+        Set<PackageElement> allCollected = newSortedSet();
+        allCollected.addAll(packages);
+        PackageTrie trie = trieOf(packages);
+        for (PackageElement pckg : packagesIn(env.getIncludedElements())) {
+            if (trie.covers(pckg.getQualifiedName().toString())) {
+                allCollected.add(pckg);
+            }
+        }
+        return allCollected;
+    }
+
+    /**
+     * Creates a new sorted set for storing the gathered data.
+     */
+    private static Set<PackageElement> newSortedSet() {
+        return new TreeSet<>(byName);
+    }
+
+    /**
+     * Creates a trie of the names of the passed packages.
+     */
+    static PackageTrie trieOf(Collection<PackageElement> packages) {
+        return PackageTrie.of(packages.stream()
+                                      .map(p -> p.getQualifiedName().toString())
+                                      .collect(toList()));
+    }
+}
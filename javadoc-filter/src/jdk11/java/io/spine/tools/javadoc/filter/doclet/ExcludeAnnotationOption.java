@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.spine.annotation.Internal;
+import jdk.javadoc.doclet.Doclet;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The option of the {@link ExcludeInternalDoclet}, which adds annotations to exclude
+ * the annotated elements by.
+ *
+ * <p>Takes the qualified names of the annotation types separated by commas, and may be
+ * repeated. This is the counterpart of the {@code -excludeannotation} option
+ * of the {@link ExcludeInternal} doclet.
+ */
+final class ExcludeAnnotationOption implements Doclet.Option {
+
+    private static final Splitter annotationNames = Splitter.on(',')
+                                                            .trimResults()
+                                                            .omitEmptyStrings();
+
+    private final Set<String> names = new LinkedHashSet<>();
+
+    @Override
+    public int getArgumentCount() {
+        return 1;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Excludes the elements annotated with the specified annotations"
+                + " in addition to @" + Internal.class.getSimpleName() + '.';
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.STANDARD;
+    }
+
+    @Override
+    public List<String> getNames() {
+        return ImmutableList.of(FilterOptions.EXCLUDE_ANNOTATION);
+    }
+
+    @Override
+    public String getParameters() {
+        return "<annotation>(,<annotation>)*";
+    }
+
+    @Override
+    public boolean process(String option, List<String> arguments) {
+        for (String argument : arguments) {
+            annotationNames.split(argument)
+                           .forEach(names::add);
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the qualified names of the annotations, the elements annotated with which
+     * should be excluded.
+     *
+     * <p>{@link Internal} is always excluded.
+     */
+    ImmutableSet<String> excludedAnnotations() {
+        return ImmutableSet.<String>builder()
+                           .add(Internal.class.getName())
+                           .addAll(names)
+                           .build();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.annotation.Internal;
+import jdk.javadoc.doclet.Doclet;
+import jdk.javadoc.doclet.DocletEnvironment;
+import jdk.javadoc.doclet.Reporter;
+import jdk.javadoc.doclet.StandardDoclet;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.Diagnostic;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The {@linkplain StandardDoclet standard doclet} of JDK 9 and later, which excludes
+ * {@linkplain Internal}-annotated components.
+ *
+ * <p>This is the counterpart of the {@link ExcludeInternal} doclet for
+ * the {@linkplain Doclet new Doclet API}, which replaced the {@code com.sun.javadoc} one.
+ * The components are excluded by the same rules.
+ *
+ * <p>Works by passing a {@linkplain FilteringEnvironment filtering environment} to
+ * the standard doclet, so that the standard doclet does not see
+ * the {@linkplain Internal}-annotated components.
+ *
+ * <p>Call it with Javadoc tool like this:
+ * <pre> {@code javadoc -doclet io.spine.tools.javadoc.filter.doclet.ExcludeInternalDoclet
+ * -docletpath "classpathlist"
+ * -J--add-exports=jdk.javadoc/jdk.javadoc.internal.tool=ALL-UNNAMED ...}</pre>
+ *
+ * <p>The {@code -J--add-exports} option is required because the filtering environment
+ * extends the implementation of the Javadoc tool.
+ *
+ * <p>Pass the {@code -excludeannotation} option with the qualified names of annotations
+ * to exclude the elements annotated with them as well.
+ *
+ * <p>Pass the {@code -excludepackage} option with glob patterns of package names, or
+ * the {@code -excludepackageregex} option with a regular expression, to exclude
+ * the {@linkplain PackagePatterns matching packages}.
+ */
+public class ExcludeInternalDoclet implements Doclet {
+
+    private final StandardDoclet standard = new StandardDoclet();
+    private final ExcludeAnnotationOption excludeAnnotation = new ExcludeAnnotationOption();
+    private final ExcludePackageOption excludePackage = ExcludePackageOption.globs();
+    private final ExcludePackageOption excludePackageRegex = ExcludePackageOption.regex();
+    private @MonotonicNonNull Reporter reporter;
+
+    @Override
+    public void init(Locale locale, Reporter reporter) {
+        this.reporter = reporter;
+        standard.init(locale, reporter);
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public Set<? extends Option> getSupportedOptions() {
+        return ImmutableSet.<Option>builder()
+                           .addAll(standard.getSupportedOptions())
+                           .add(excludeAnnotation, excludePackage, excludePackageRegex)
+                           .build();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return standard.getSupportedSourceVersion();
+    }
+
+    @Override
+    public boolean run(DocletEnvironment environment) {
+        PackagePatterns packagePatterns;
+        try {
+            packagePatterns = PackagePatterns.of(excludePackage.patterns(),
+                                                 excludePackageRegex.patterns());
+        } catch (PatternSyntaxException e) {
+            checkNotNull(reporter).print(Diagnostic.Kind.ERROR, String.format(
+                    "Invalid `%s` expression: %s",
+                    FilterOptions.EXCLUDE_PACKAGE_REGEX, e.getMessage()));
+            return false;
+        }
+        ModelFilter filter = new ModelFilter(environment,
+                                             excludeAnnotation.excludedAnnotations(),
+                                             packagePatterns);
+        DocletEnvironment filtered = FilteringEnvironment.wrap(environment, filter);
+        return generate(filtered);
+    }
+
+    /**
+     * Generates the documentation for the passed filtered environment.
+     */
+    boolean generate(DocletEnvironment filtered) {
+        return standard.run(filtered);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import jdk.javadoc.doclet.Doclet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An option of the {@link ExcludeInternalDoclet}, which adds patterns of the names
+ * of the packages to exclude.
+ *
+ * <p>This is the counterpart of the {@code -excludepackage} and {@code -excludepackageregex}
+ * options of the {@link ExcludeInternal} doclet.
+ *
+ * @see PackagePatterns
+ */
+final class ExcludePackageOption implements Doclet.Option {
+
+    private static final Splitter commaSeparated = Splitter.on(',')
+                                                           .trimResults()
+                                                           .omitEmptyStrings();
+
+    private final String name;
+    private final String description;
+    private final String parameters;
+
+    /**
+     * Splits an argument into several patterns, or {@code null} if an argument
+     * is a single pattern.
+     */
+    private final @Nullable Splitter splitter;
+
+    private final List<String> patterns = new ArrayList<>();
+
+    private ExcludePackageOption(String name,
+                                 String description,
+                                 String parameters,
+                                 @Nullable Splitter splitter) {
+        this.name = name;
+        this.description = description;
+        this.parameters = parameters;
+        this.splitter = splitter;
+    }
+
+    /**
+     * Creates the option taking glob patterns separated by commas.
+     */
+    static ExcludePackageOption globs() {
+        return new ExcludePackageOption(
+                FilterOptions.EXCLUDE_PACKAGE,
+                "Excludes the packages matching the glob patterns, and their sub-packages.",
+                "<pattern>(,<pattern>)*",
+                commaSeparated
+        );
+    }
+
+    /**
+     * Creates the option taking a regular expression.
+     */
+    static ExcludePackageOption regex() {
+        return new ExcludePackageOption(
+                FilterOptions.EXCLUDE_PACKAGE_REGEX,
+                "Excludes the packages matching the regular expression, and their sub-packages.",
+                "<regex>",
+                null
+        );
+    }
+
+    @Override
+    public int getArgumentCount() {
+        return 1;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.STANDARD;
+    }
+
+    @Override
+    public List<String> getNames() {
+        return ImmutableList.of(name);
+    }
+
+    @Override
+    public String getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean process(String option, List<String> arguments) {
+        for (String argument : arguments) {
+            if (splitter == null) {
+                patterns.add(argument);
+            } else {
+                splitter.split(argument)
+                        .forEach(patterns::add);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the patterns passed with the option.
+     */
+    ImmutableList<String> patterns() {
+        return ImmutableList.copyOf(patterns);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import jdk.javadoc.doclet.DocletEnvironment;
+import jdk.javadoc.internal.tool.DocEnvImpl;
+
+import javax.lang.model.element.Element;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+/**
+ * The {@link DocletEnvironment} which hides the elements to be excluded
+ * from the documentation.
+ *
+ * <p>The environment decorates the one passed to a doclet by the Javadoc tool. All the queries
+ * are answered by the decorated environment, except for the ones telling which elements are
+ * to be documented. Those skip the elements matching the passed filter.
+ *
+ * <p>The {@linkplain jdk.javadoc.doclet.StandardDoclet standard doclet} casts the environment
+ * to the {@link DocEnvImpl} of the Javadoc tool. So, the decorator has to extend this class
+ * instead of just implementing the interface. Because of that, the {@code jdk.javadoc.internal.tool}
+ * package must be exported to the unnamed module both when compiling and when running the doclet.
+ */
+final class FilteringEnvironment extends DocEnvImpl {
+
+    private final Predicate<Element> excluded;
+    private final Supplier<ImmutableSet<Element>> specified;
+    private final Supplier<ImmutableSet<Element>> included;
+
+    private FilteringEnvironment(DocEnvImpl env, Predicate<Element> excluded) {
+        super(env.toolEnv, env.etable);
+        this.excluded = excluded;
+        this.specified = Suppliers.memoize(() -> retain(super.getSpecifiedElements()));
+        this.included = Suppliers.memoize(() -> retain(super.getIncludedElements()));
+    }
+
+    /**
+     * Decorates the passed environment, hiding the elements matching the passed filter.
+     *
+     * @param env
+     *         the environment passed to the doclet by the Javadoc tool
+     * @param excluded
+     *         tells if an element should be excluded from the documentation
+     * @return the decorated environment
+     */
+    static FilteringEnvironment wrap(DocletEnvironment env, Predicate<Element> excluded) {
+        checkArgument(env instanceof DocEnvImpl,
+                      "The environment of the Javadoc tool is expected, got `%s`.",
+                      env.getClass().getName());
+        return new FilteringEnvironment((DocEnvImpl) env, excluded);
+    }
+
+    private ImmutableSet<Element> retain(Set<? extends Element> elements) {
+        return elements.stream()
+                       .filter(excluded.negate())
+                       .collect(toImmutableSet());
+    }
+
+    @Override
+    public Set<? extends Element> getSpecifiedElements() {
+        return specified.get();
+    }
+
+    @Override
+    public Set<? extends Element> getIncludedElements() {
+        return included.get();
+    }
+
+    @Override
+    public boolean isIncluded(Element e) {
+        return !excluded.test(e) && super.isIncluded(e);
+    }
+
+    @Override
+    public boolean isSelected(Element e) {
+        return !excluded.test(e) && super.isSelected(e);
+    }
+}
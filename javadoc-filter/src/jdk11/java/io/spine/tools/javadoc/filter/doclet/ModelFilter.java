@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.annotation.Internal;
+import jdk.javadoc.doclet.DocletEnvironment;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.util.Elements;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Tests if an {@linkplain Element element} of the Java language model represents a Java code
+ * annotated with {@link Internal} annotation, or with another
+ * {@linkplain ExcludeAnnotationOption excluded annotation}.
+ *
+ * <p>Excludes all elements including packages and their subpackages.
+ *
+ * <p>This is the counterpart of the {@link Filter} for
+ * the {@linkplain jdk.javadoc.doclet.Doclet new Doclet API}.
+ */
+final class ModelFilter implements Predicate<Element> {
+
+    private final ElementAnnotationCheck excludedAnnotations;
+
+    private final Elements elements;
+
+    /**
+     * Packages to be excluded in the passed environment.
+     */
+    private final PackageTrie excludedPackages;
+
+    /**
+     * The patterns of the names of the packages to be excluded.
+     */
+    private final PackagePatterns packagePatterns;
+
+    /**
+     * Tells if an element should be excluded, by the element.
+     *
+     * <p>The standard doclet asks about the same elements many times,
+     * so the verdicts are remembered. The map is concurrent, so that the filter may be
+     * called from several threads.
+     */
+    private final ConcurrentMap<Element, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new filter for the passed environment.
+     *
+     * @param env
+     *         the environment passed to the doclet
+     * @param excludedAnnotations
+     *         the qualified names of the annotations to exclude the annotated elements by
+     * @param packagePatterns
+     *         the patterns of the names of the packages to exclude
+     */
+    ModelFilter(DocletEnvironment env,
+                ImmutableSet<String> excludedAnnotations,
+                PackagePatterns packagePatterns) {
+        this.elements = env.getElementUtils();
+        this.excludedAnnotations = new ElementAnnotationCheck(excludedAnnotations);
+        ElementPackageCollector packageCollector =
+                new ElementPackageCollector(this.excludedAnnotations);
+        Set<PackageElement> collected = packageCollector.collect(env);
+        this.excludedPackages = ElementPackageCollector.trieOf(collected);
+        this.packagePatterns = packagePatterns;
+    }
+
+    /**
+     * Tells if the passed element should be excluded from the documentation.
+     */
+    @Override
+    public boolean test(Element element) {
+        Boolean verdict = verdicts.get(element);
+        if (verdict == null) {
+            verdict = isExcluded(element);
+            verdicts.putIfAbsent(element, verdict);
+        }
+        return verdict;
+    }
+
+    private boolean isExcluded(Element element) {
+        if (element.getKind() == ElementKind.MODULE) {
+            return false;
+        }
+        return excludedAnnotations.test(element) || inExclusions(element);
+    }
+
+    private boolean inExclusions(Element element) {
+        if (excludedPackages.isEmpty() && packagePatterns.isEmpty()) {
+            return false;
+        }
+        String packageName = elements.getPackageOf(element)
+                                     .getQualifiedName()
+                                     .toString();
+        return excludedPackages.covers(packageName) || packagePatterns.matches(packageName);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import jdk.javadoc.doclet.DocletEnvironment;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.DocumentationTool;
+import javax.tools.ToolProvider;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkState;
+import static javax.lang.model.util.ElementFilter.typesIn;
+
+/**
+ * Runs the {@link ExcludeInternalDoclet} and remembers the elements it would document.
+ *
+ * <p>The elements are remembered by their names. Types are named by their qualified names,
+ * and their members are named as {@code <type>#<member>}.
+ */
+public final class DocumentedElementsReceiver extends ExcludeInternalDoclet {
+
+    @SuppressWarnings("StaticVariableMayNotBeInitialized") // Set by the `generate` invocation.
+    private static ImmutableSet<String> documented;
+
+    @Override
+    boolean generate(DocletEnvironment filtered) {
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (TypeElement type : typesIn(filtered.getIncludedElements())) {
+            String typeName = type.getQualifiedName()
+                                  .toString();
+            names.add(typeName);
+            for (Element member : type.getEnclosedElements()) {
+                if (filtered.isIncluded(member)) {
+                    names.add(typeName + '#' + member.getSimpleName());
+                }
+            }
+        }
+        documented = names.build();
+        return true;
+    }
+
+    /**
+     * Runs the doclet with the passed arguments.
+     *
+     * @return the names of the elements to be documented
+     */
+    @SuppressWarnings("StaticVariableUsedBeforeInitialization") // Initialized in `generate`.
+    static ImmutableSet<String> documentedFor(String[] args) {
+        documented = null;
+        DocumentationTool tool = ToolProvider.getSystemDocumentationTool();
+        List<String> options = ImmutableList.copyOf(args);
+        DocumentationTool.DocumentationTask task =
+                tool.getTask(null, null, null, DocumentedElementsReceiver.class, options, null);
+        boolean success = task.call();
+        checkState(success, "Javadoc failed with the arguments: `%s`.", options);
+        return documented;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.tools.javadoc.filter.doclet.DocumentedElementsReceiver.documentedFor;
+
+/**
+ * Tests {@link ExcludeInternalDoclet}.
+ *
+ * <p>The source code used by this test suite is shared with the tests of
+ * the {@link ExcludeInternal} doclet, and is located under {@code test/resources/testsources}.
+ */
+@DisplayName("`ExcludeInternalDoclet` should")
+class ExcludeInternalDocletTest {
+
+    /** The current directory of the user is where the build is executed. */
+    @SuppressWarnings("AccessOfSystemProperties") // Need to know project path
+    private static final String CURRENT_DIR = System.getProperty("user.dir");
+
+    /** The directory under the source tree with the source code to be used in the tests. */
+    private static final String RESOURCES_DIR = CURRENT_DIR + "/src/test/resources/";
+
+    /** The directory and the package for the source code used for the tests. */
+    private static final String TEST_SOURCES_PACKAGE = "testsources";
+
+    private static final String INTERNAL_PACKAGE = TEST_SOURCES_PACKAGE + ".internal";
+
+    private Path sourcePath;
+    private Path destination;
+
+    @BeforeEach
+    void createTempDir(@TempDir Path tempDir) {
+        sourcePath = Paths.get(RESOURCES_DIR);
+        destination = tempDir.resolve("javadoc");
+    }
+
+    private JavadocArgs createArgs() {
+        JavadocArgs args = new JavadocArgs();
+        args.setSourcePath(sourcePath)
+            .setDestination(destination);
+        return args;
+    }
+
+    private static String src(String sourceFile) {
+        return TEST_SOURCES_PACKAGE + '/' + sourceFile;
+    }
+
+    private static String type(String simpleName) {
+        return TEST_SOURCES_PACKAGE + '.' + simpleName;
+    }
+
+    @Nested
+    @DisplayName("exclude internal")
+    class Excluding {
+
+        @Test
+        @DisplayName("classes")
+        void classes() {
+            String[] args = createArgs()
+                    .addSource(src("InternalClass.java"))
+                    .addSource(src("DerivedFromInternalClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .containsExactly(type("DerivedFromInternalClass"),
+                                     type("DerivedFromInternalClass#<init>"));
+        }
+
+        @Test
+        @DisplayName("interfaces, enums, and annotations")
+        void types() {
+            String[] args = createArgs()
+                    .addSource(src("InternalAnnotatedInterface.java"))
+                    .addSource(src("InternalEnum.java"))
+                    .addSource(src("InternalAnnotatedAnnotation.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("constructors")
+        void ctors() {
+            String[] args = createArgs()
+                    .addSource(src("InternalCtorClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .containsExactly(type("InternalCtorClass"));
+        }
+
+        @Test
+        @DisplayName("fields")
+        void fields() {
+            String[] args = createArgs()
+                    .addSource(src("InternalFieldClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .doesNotContain(type("InternalFieldClass#internalValue"));
+        }
+
+        @Test
+        @DisplayName("methods")
+        void methods() {
+            String[] args = createArgs()
+                    .addSource(src("InternalMethodClass.java"))
+                    .addSource(src("OverridesInternalMethod.java"))
+                    .build();
+
+            ImmutableSet<String> documented = documentedFor(args);
+            assertThat(documented)
+                    .doesNotContain(type("InternalMethodClass#foo"));
+            assertThat(documented)
+                    .contains(type("OverridesInternalMethod#foo"));
+        }
+
+        @Test
+        @DisplayName("package content")
+        void packageContent() {
+            String[] args = createArgs()
+                    .addSource(src("/internal/InternalPackageClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-excludeannotation` option is set")
+    class WithExcludedAnnotations {
+
+        @Test
+        @DisplayName("exclude elements with any of the listed annotations")
+        void listedAnnotations() {
+            String[] args = createArgs()
+                    .addOption("-excludeannotation",
+                               "io.grpc.Internal, io.spine.annotation.Experimental")
+                    .addSource(src("GrpcInternalAnnotatedClass.java"))
+                    .addSource(src("ExperimentalClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("still exclude `@Internal` elements")
+        void internal() {
+            String[] args = createArgs()
+                    .addOption("-excludeannotation", "io.grpc.Internal")
+                    .addSource(src("InternalClass.java"))
+                    .addSource(src("ExperimentalClass.java"))
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .containsExactly(type("ExperimentalClass"),
+                                     type("ExperimentalClass#<init>"));
+        }
+    }
+
+    @Nested
+    @DisplayName("when package patterns are set")
+    class WithPackagePatterns {
+
+        private JavadocArgs argsWithPackages() {
+            return createArgs()
+                    .addPackage(TEST_SOURCES_PACKAGE + ".internalapi")
+                    .addPackage(TEST_SOURCES_PACKAGE + ".notinternal");
+        }
+
+        @Test
+        @DisplayName("exclude packages matching a glob")
+        void glob() {
+            String[] args = argsWithPackages()
+                    .addOption("-excludepackage", "**.internalapi")
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .containsExactly(type("notinternal.NotInternalClass"),
+                                     type("notinternal.NotInternalClass#<init>"));
+        }
+
+        @Test
+        @DisplayName("exclude packages matching a regular expression")
+        void regex() {
+            String[] args = argsWithPackages()
+                    .addOption("-excludepackageregex", "testsources\\.not.*")
+                    .build();
+
+            assertThat(documentedFor(args))
+                    .containsExactly(type("internalapi.PublicApiClass"),
+                                     type("internalapi.PublicApiClass#<init>"));
+        }
+    }
+
+    @Test
+    @DisplayName("exclude only from internal subpackages")
+    void excludeOnlyFromInternalSubpackages() {
+        String[] args = createArgs()
+                .addPackage(INTERNAL_PACKAGE)
+                .addPackage(INTERNAL_PACKAGE + ".subinternal")
+                .addPackage(TEST_SOURCES_PACKAGE + ".internalapi")
+                .addPackage(TEST_SOURCES_PACKAGE + ".notinternal")
+                .build();
+
+        assertThat(documentedFor(args))
+                .containsExactly(type("internalapi.PublicApiClass"),
+                                 type("internalapi.PublicApiClass#<init>"),
+                                 type("notinternal.NotInternalClass"),
+                                 type("notinternal.NotInternalClass#<init>"));
+    }
+
+    @Test
+    @DisplayName("not use `@Internal` annotation from other libraries or frameworks")
+    void foreignAnnotation() {
+        String[] args = createArgs()
+                .addSource(src("GrpcInternalAnnotatedClass.java"))
+                .build();
+
+        assertThat(documentedFor(args))
+                .contains(type("GrpcInternalAnnotatedClass"));
+    }
+}
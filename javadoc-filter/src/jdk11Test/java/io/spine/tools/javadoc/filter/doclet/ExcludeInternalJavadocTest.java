@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the {@code ExcludeInternalJavadoc} task of {@code buildSrc} in a Gradle build.
+ *
+ * <p>The classpath of the task, and the classpath of the doclets are passed by the build
+ * in the {@code excludeInternalJavadoc.classpath} and {@code doclet.classpath} system
+ * properties.
+ */
+@DisplayName("`ExcludeInternalJavadoc` task should")
+class ExcludeInternalJavadocTest {
+
+    private static final String TASK = "excludeInternalJavadoc";
+
+    /** The directory of the source code used for the tests. */
+    @SuppressWarnings("AccessOfSystemProperties") // Need to know project path
+    private static final Path SOURCES =
+            Paths.get(System.getProperty("user.dir"), "src/test/resources/testsources");
+
+    /** The latest JDK, which has the {@code com.sun.javadoc} API. */
+    private static final int LAST_JDK_WITH_LEGACY_API = 12;
+
+    private Path projectDir;
+
+    @BeforeEach
+    void createProject(@TempDir Path projectDir) {
+        this.projectDir = projectDir;
+    }
+
+    @Test
+    @DisplayName("run the doclet of the `jdk.javadoc.doclet` API")
+    void runJdk9Doclet() throws IOException {
+        assertExcludesInternal("JDK9");
+    }
+
+    @Test
+    @DisplayName("run the doclet of the `com.sun.javadoc` API")
+    void runJdk8Doclet() throws IOException {
+        assumeTrue(Runtime.version()
+                          .feature() <= LAST_JDK_WITH_LEGACY_API);
+        assertExcludesInternal("JDK8");
+    }
+
+    private void assertExcludesInternal(String docletApi) throws IOException {
+        writeBuildScript(docletApi);
+
+        BuildResult result = GradleRunner.create()
+                                         .withProjectDir(projectDir.toFile())
+                                         .withArguments(TASK, "--stacktrace")
+                                         .forwardOutput()
+                                         .build();
+
+        assertThat(result.task(':' + TASK)
+                         .getOutcome())
+                .isEqualTo(SUCCESS);
+        Path docs = projectDir.resolve("build/docs/testsources");
+        assertThat(Files.exists(docs.resolve("DerivedFromInternalClass.html")))
+                .isTrue();
+        assertThat(Files.exists(docs.resolve("InternalClass.html")))
+                .isFalse();
+    }
+
+    private void writeBuildScript(String docletApi) throws IOException {
+        String script = format(
+                "buildscript {%n" +
+                "    dependencies { classpath files(%s) }%n" +
+                "}%n" +
+                "tasks.register(%n" +
+                "        '%s', io.spine.internal.gradle.javadoc.ExcludeInternalJavadoc) {%n" +
+                "    source.from(%s, %s)%n" +
+                "    classpath.from(files(%s))%n" +
+                "    docletClasspath.from(files(%s))%n" +
+                "    destinationDir.set(layout.buildDirectory.dir('docs'))%n" +
+                "    docletApi.set(io.spine.internal.gradle.javadoc.DocletApi.%s)%n" +
+                "}%n",
+                classpathOf("excludeInternalJavadoc.classpath"),
+                TASK,
+                quoted(SOURCES.resolve("InternalClass.java")),
+                quoted(SOURCES.resolve("DerivedFromInternalClass.java")),
+                classpathOf("doclet.classpath"),
+                classpathOf("doclet.classpath"),
+                docletApi
+        );
+        Files.write(projectDir.resolve("build.gradle"), script.getBytes(UTF_8));
+        Files.write(projectDir.resolve("settings.gradle"), new byte[0]);
+    }
+
+    /**
+     * Obtains the classpath in the passed system property as a list of Groovy strings.
+     */
+    @SuppressWarnings("AccessOfSystemProperties") // Passed by the build.
+    private static String classpathOf(String property) {
+        String classpath = System.getProperty(property);
+        assertThat(classpath)
+                .isNotNull();
+        return Stream.of(classpath.split(File.pathSeparator))
+                     .map(path -> quoted(Paths.get(path)))
+                     .collect(joining(", "));
+    }
+
+    private static String quoted(Path path) {
+        return '\'' + path.toAbsolutePath()
+                          .toString()
+                          .replace('\\', '/') + '\'';
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures {@link ExcludeInternal#createArray(Object[], Class)} on the classes of
+ * a synthetic project.
+ *
+ * <p>The {@code baseline} benchmarks run the algorithm used before, which collected
+ * the kept entries into a list and copied them into a new array.
+ *
+ * <p>Run with the GC profiler ({@code -prof gc}) to compare the memory allocated per call
+ * in the {@code gc.alloc.rate.norm} metric.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CreateArrayBenchmark {
+
+    private static final ClassDoc[] NO_CLASSES = {};
+
+    @Param({"1000", "10000"})
+    private int classCount;
+
+    @Param({"0", "10"})
+    private int internalPercent;
+
+    private SyntheticSources sources;
+    private Filter filter;
+    private ExcludeInternal doclet;
+    private ClassDoc[] classes;
+
+    @Setup
+    public void generateSources() throws IOException {
+        sources = SyntheticSources.create();
+        sources.addClasses(classCount, internalPercent);
+        RootDoc root = RootDocCapture.rootOf(sources, ImmutableList.of(SyntheticSources.PACKAGE));
+        FilterOptions options = FilterOptions.defaults();
+        filter = new Filter(root, options);
+        doclet = ExcludeInternal.of(root, filter, options);
+        classes = root.classes();
+    }
+
+    @TearDown
+    public void deleteSources() throws IOException {
+        sources.delete();
+    }
+
+    @Benchmark
+    public Object[] classes() {
+        return doclet.createArray(classes, ClassDoc.class);
+    }
+
+    @Benchmark
+    public Object[] noClasses() {
+        return doclet.createArray(NO_CLASSES, ClassDoc.class);
+    }
+
+    @Benchmark
+    public Object[] classesBaseline() {
+        return collectToArray(classes, ClassDoc.class);
+    }
+
+    @Benchmark
+    public Object[] noClassesBaseline() {
+        return collectToArray(NO_CLASSES, ClassDoc.class);
+    }
+
+    /**
+     * Filters the passed array by the algorithm used before the two-pass
+     * {@link ExcludeInternal#createArray(Object[], Class) createArray()}.
+     */
+    private Object[] collectToArray(Object[] array, Class<?> componentType) {
+        List<Object> list = new ArrayList<>();
+        for (Object entry : array) {
+            if (!(entry instanceof ProgramElementDoc
+                    && filter.test((ProgramElementDoc) entry))) {
+                list.add(doclet.process(entry, componentType));
+            }
+        }
+        return list.toArray((Object[]) Array.newInstance(componentType, list.size()));
+    }
+}
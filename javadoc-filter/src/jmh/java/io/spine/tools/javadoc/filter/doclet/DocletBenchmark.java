@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.tools.doclets.standard.Standard;
+import com.sun.tools.javadoc.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compares the whole documentation run of the {@link ExcludeInternal} doclet with
+ * the one of the {@linkplain Standard standard doclet} on a synthetic project.
+ *
+ * <p>The difference between the two is the overhead of the filtering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class DocletBenchmark {
+
+    @Param({"10", "50"})
+    private int packages;
+
+    private SyntheticSources sources;
+    private Path destination;
+    private String[] args;
+
+    @Setup
+    public void generateSources() throws IOException {
+        sources = SyntheticSources.create();
+        ImmutableList<String> names = sources.addProject(packages, 20, 5);
+        destination = Files.createTempDirectory("javadoc-filter-jmh-output");
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-quiet");
+        arguments.add("-Xdoclint:none");
+        arguments.add("-d");
+        arguments.add(destination.toString());
+        arguments.add("-sourcepath");
+        arguments.add(sources.root().toString());
+        arguments.addAll(names);
+        args = arguments.toArray(new String[0]);
+    }
+
+    @TearDown
+    public void deleteSources() throws IOException {
+        sources.delete();
+        SyntheticSources.deleteDirectory(destination);
+    }
+
+    @Benchmark
+    public int standard() {
+        return run(Standard.class);
+    }
+
+    @Benchmark
+    public int excludeInternal() {
+        return run(ExcludeInternal.class);
+    }
+
+    private int run(Class<?> doclet) {
+        String name = doclet.getName();
+        return Main.execute(name, name, args);
+    }
+}
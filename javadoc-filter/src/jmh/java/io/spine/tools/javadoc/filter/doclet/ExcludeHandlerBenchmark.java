@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the throughput of {@link ExcludeHandler#invoke(Object, Method, Object[])}
+ * for the methods returning a plain value, a single documentation element,
+ * and an array of documentation elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExcludeHandlerBenchmark {
+
+    private static final Object[] NO_ARGS = {};
+
+    private SyntheticSources sources;
+    private ExcludeHandler handler;
+    private Object proxy;
+
+    private Method name;
+    private Method superclass;
+    private Method methods;
+
+    @Setup
+    public void createHandler() throws IOException, NoSuchMethodException {
+        sources = SyntheticSources.create();
+        ImmutableList<String> names = sources.addProject(1, 10, 10);
+        RootDoc root = RootDocCapture.rootOf(sources, names);
+        FilterOptions options = FilterOptions.defaults();
+        ExcludeInternal doclet = ExcludeInternal.of(root, new Filter(root, options), options);
+        ClassDoc target = root.classNamed(names.get(0) + ".C9");
+        handler = new ExcludeHandler(doclet, target);
+        proxy = doclet.process(target, ClassDoc.class);
+
+        name = ClassDoc.class.getMethod("name");
+        superclass = ClassDoc.class.getMethod("superclass");
+        methods = ClassDoc.class.getMethod("methods");
+    }
+
+    @TearDown
+    public void deleteSources() throws IOException {
+        sources.delete();
+    }
+
+    @Benchmark
+    public Object plainValue() throws Throwable {
+        return handler.invoke(proxy, name, NO_ARGS);
+    }
+
+    @Benchmark
+    public Object element() throws Throwable {
+        return handler.invoke(proxy, superclass, NO_ARGS);
+    }
+
+    @Benchmark
+    public Object elementArray() throws Throwable {
+        return handler.invoke(proxy, methods, NO_ARGS);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.sun.javadoc.RootDoc;
+import com.sun.tools.javadoc.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The doclet which obtains the documentation root of the passed sources
+ * without generating the documentation.
+ */
+public final class RootDocCapture {
+
+    @SuppressWarnings("StaticVariableMayNotBeInitialized") // Set by the `start` invocation.
+    private static RootDoc captured;
+
+    /** Prevents instantiation of this doclet. */
+    private RootDocCapture() {
+    }
+
+    @SuppressWarnings("unused") // called by com.sun.tools.javadoc.Main
+    public static boolean start(RootDoc root) {
+        captured = root;
+        return true;
+    }
+
+    /**
+     * Obtains the documentation root of the specified packages of the passed sources.
+     */
+    @SuppressWarnings("StaticVariableUsedBeforeInitialization") // Initialized in `start`.
+    static RootDoc rootOf(SyntheticSources sources, Iterable<String> packages) {
+        String name = RootDocCapture.class.getName();
+        List<String> args = new ArrayList<>();
+        args.add("-quiet");
+        args.add("-sourcepath");
+        args.add(sources.root().toString());
+        packages.forEach(args::add);
+        Main.execute(name, name, args.toArray(new String[0]));
+        return captured;
+    }
+}
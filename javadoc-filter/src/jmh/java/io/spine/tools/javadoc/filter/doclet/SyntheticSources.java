@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates the sources of a synthetic project for the benchmarks.
+ */
+final class SyntheticSources {
+
+    /**
+     * The package of the generated classes.
+     */
+    static final String PACKAGE = "synthetic";
+
+    /**
+     * Every n-th package, class and member of a {@linkplain #addProject project}
+     * is annotated as {@code @Internal}.
+     */
+    private static final int INTERNAL_EVERY = 10;
+
+    private static final String INTERNAL = "@io.spine.annotation.Internal\n";
+
+    private final Path root;
+
+    private SyntheticSources(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a temporary directory for the sources.
+     */
+    static SyntheticSources create() throws IOException {
+        return new SyntheticSources(Files.createTempDirectory("javadoc-filter-jmh"));
+    }
+
+    /**
+     * Obtains the root directory of the sources.
+     */
+    Path root() {
+        return root;
+    }
+
+    /**
+     * Generates the classes with a couple of methods each in the {@link #PACKAGE}.
+     *
+     * @param count
+     *         the number of classes to generate
+     * @param internalPercent
+     *         the percentage of the classes to be annotated as {@code @Internal}
+     */
+    void addClasses(int count, int internalPercent) throws IOException {
+        Path dir = Files.createDirectories(root.resolve(PACKAGE));
+        for (int i = 0; i < count; i++) {
+            boolean internal = i * 100 / count < internalPercent;
+            String name = "Class" + i;
+            String source = "package " + PACKAGE + ";\n\n"
+                    + (internal ? INTERNAL : "")
+                    + "public class " + name + " {\n"
+                    + "    public int first() { return 1; }\n"
+                    + "    public int second() { return 2; }\n"
+                    + "}\n";
+            write(PACKAGE, name, source);
+        }
+    }
+
+    /**
+     * Generates a project with the specified number of packages under the {@link #PACKAGE}.
+     *
+     * <p>Every tenth package, class, field and method is annotated as {@code @Internal}.
+     * Each {@code @Internal} package has a non-annotated subpackage, which is excluded as well.
+     * The classes of a package extend each other, forming the inheritance chains
+     * of the specified depth.
+     *
+     * @param packages
+     *         the number of top-level packages
+     * @param classesPerPackage
+     *         the number of classes in each package
+     * @param inheritanceDepth
+     *         the length of the inheritance chains
+     * @return the names of all the generated packages
+     */
+    ImmutableList<String> addProject(int packages, int classesPerPackage, int inheritanceDepth)
+            throws IOException {
+        ImmutableList.Builder<String> names = ImmutableList.builder();
+        for (int i = 0; i < packages; i++) {
+            String pckg = PACKAGE + ".p" + i;
+            boolean internal = i % INTERNAL_EVERY == 0;
+            addPackage(pckg, internal, classesPerPackage, inheritanceDepth);
+            names.add(pckg);
+            if (internal) {
+                String subpackage = pckg + ".impl";
+                addPackage(subpackage, false, classesPerPackage, inheritanceDepth);
+                names.add(subpackage);
+            }
+        }
+        return names.build();
+    }
+
+    private void addPackage(String pckg, boolean internal, int classes, int inheritanceDepth)
+            throws IOException {
+        String packageInfo = "/** The package {@code " + pckg + "}. */\n"
+                + (internal ? INTERNAL : "")
+                + "package " + pckg + ";\n";
+        write(pckg, "package-info", packageInfo);
+        for (int i = 0; i < classes; i++) {
+            String superclass = i % inheritanceDepth == 0
+                                ? ""
+                                : " extends C" + (i - 1);
+            write(pckg, "C" + i, classSource(pckg, i, superclass));
+        }
+    }
+
+    private static String classSource(String pckg, int index, String superclass) {
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(pckg).append(";\n\n")
+              .append("/** The class number ").append(index).append(". */\n")
+              .append(index % INTERNAL_EVERY == 1 ? INTERNAL : "")
+              .append("public class C").append(index).append(superclass).append(" {\n");
+        for (int member = 0; member < INTERNAL_EVERY; member++) {
+            String annotation = member == 0 ? "    " + INTERNAL : "";
+            String name = "m" + index + '_' + member;
+            source.append("    /** The field {@code ").append(name).append("}. */\n")
+                  .append(annotation)
+                  .append("    public int ").append(name).append(";\n")
+                  .append("    /** Returns the {@code ").append(name).append("}. */\n")
+                  .append(annotation)
+                  .append("    public int get").append(name).append("() { return ")
+                  .append(name).append("; }\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void write(String pckg, String name, String source) throws IOException {
+        Path dir = Files.createDirectories(root.resolve(pckg.replace('.', '/')));
+        Files.write(dir.resolve(name + ".java"), source.getBytes(UTF_8));
+    }
+
+    /**
+     * Deletes the generated sources.
+     */
+    void delete() throws IOException {
+        deleteDirectory(root);
+    }
+
+    /**
+     * Deletes the passed directory with all its content.
+     */
+    static void deleteDirectory(Path directory) throws IOException {
+        MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+}
@@ -26,31 +26,49 @@
 
 package io.spine.tools.javadoc.filter.doclet;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Immutable;
 import com.sun.javadoc.AnnotationDesc;
-import com.sun.javadoc.ProgramElementDoc;
-
-import java.lang.annotation.Annotation;
+import com.sun.javadoc.PackageDoc;
 
 /**
- * Provides the methods to check if a program element has specified annotation.
+ * Provides the methods to check if a program element has one of the specified annotations.
  *
- * @param <C> the type of an annotation to check
+ * <p>Annotations are matched by the qualified names of their types. Each annotation of
+ * an element is looked up in the set of the names, so the cost of the check does not
+ * depend on the number of the specified annotations.
  */
 @Immutable
-final class AnnotationCheck<C extends Class<? extends Annotation>> {
+final class AnnotationCheck {
 
-    private final C annotationClass;
+    private final ImmutableSet<String> annotationNames;
 
-    AnnotationCheck(C annotationClass) {
-        this.annotationClass = annotationClass;
+    /**
+     * Creates a new check.
+     *
+     * @param annotationNames
+     *         the qualified names of the annotation types to check
+     */
+    AnnotationCheck(ImmutableSet<String> annotationNames) {
+        this.annotationNames = annotationNames;
     }
 
-    boolean test(ProgramElementDoc doc) {
-        return isAnnotationPresent(doc.annotations());
+    /**
+     * Tells if any of the annotations of the element with the passed facts is checked.
+     *
+     * <p>Unlike the other checks, this method does not read the element,
+     * and so may be called from any thread.
+     */
+    boolean test(ElementFacts facts) {
+        for (String name : facts.annotations()) {
+            if (annotationNames.contains(name)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    boolean test(com.sun.javadoc.PackageDoc doc) {
+    boolean test(PackageDoc doc) {
         return isAnnotationPresent(doc.annotations());
     }
 
@@ -64,8 +82,8 @@ final class AnnotationCheck<C extends Class<? extends Annotation>> {
     }
 
     private boolean matchesName(AnnotationDesc annotation) {
-        return annotation.annotationType()
-                         .qualifiedTypeName()
-                         .equals(annotationClass.getName());
+        String name = annotation.annotationType()
+                                .qualifiedTypeName();
+        return annotationNames.contains(name);
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Optional;
+
+/**
+ * The base for the delegates of the "com.sun.javadoc" interfaces.
+ *
+ * <p>A delegate calls its target directly and passes to the {@linkplain ExcludeInternal doclet}
+ * only the values which may need filtering, i.e. documentation elements and their arrays.
+ * This saves the reflective calls made by the {@linkplain ExcludeHandler proxies}.
+ *
+ * <p>Descendants of this class are generated at build time, one per interface.
+ *
+ * @param <T>
+ *         the type of the target
+ */
+abstract class Delegate<T> {
+
+    /**
+     * Factories of delegates, by the class of the target.
+     */
+    private static final ClassValue<Optional<Factory>> factories =
+            new ClassValue<Optional<Factory>>() {
+                @Override
+                protected Optional<Factory> computeValue(Class<?> type) {
+                    return Optional.ofNullable(select(type));
+                }
+            };
+
+    final ExcludeInternal doclet;
+    final T target;
+
+    Delegate(ExcludeInternal doclet, T target) {
+        this.doclet = doclet;
+        this.target = target;
+    }
+
+    /**
+     * Obtains the factory of delegates for the objects of the passed class.
+     *
+     * @return the factory, or {@code Optional.empty()} if the objects of the class
+     *         cannot be delegated to
+     */
+    static Optional<Factory> factoryFor(Class<?> cls) {
+        return factories.get(cls);
+    }
+
+    /**
+     * Selects the factory for the single interface of the passed class, which has a delegate.
+     *
+     * <p>Other interfaces of the class are allowed only if they declare no methods.
+     * Otherwise, the objects of the class should be {@linkplain java.lang.reflect.Proxy proxied}.
+     */
+    private static @Nullable Factory select(Class<?> cls) {
+        Factory result = null;
+        for (Class<?> iface : cls.getInterfaces()) {
+            Factory factory = Delegates.factories()
+                                       .get(iface);
+            if (factory == null) {
+                if (iface.getMethods().length > 0) {
+                    return null;
+                }
+            } else if (result == null) {
+                result = factory;
+            } else {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public final boolean equals(@Nullable Object obj) {
+        return target.equals(ExcludeHandler.unwrap(obj));
+    }
+
+    @Override
+    public final int hashCode() {
+        return target.hashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return target.toString();
+    }
+
+    /**
+     * Creates delegates for the target objects.
+     */
+    @FunctionalInterface
+    interface Factory {
+
+        /**
+         * Creates a new delegate.
+         *
+         * @param doclet
+         *         the doclet filtering the values returned by the target
+         * @param target
+         *         the object to delegate to
+         * @return the new delegate
+         */
+        Object create(ExcludeInternal doclet, Object target);
+    }
+}
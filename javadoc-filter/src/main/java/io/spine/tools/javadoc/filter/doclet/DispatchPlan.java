@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.errorprone.annotations.Immutable;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.Type;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Describes how {@link ExcludeHandler} handles the invocations of a method.
+ *
+ * <p>A plan is made once per method, so the invocations do not have to inspect
+ * the method and its result again. The plan follows the {@link MethodDispatch} of
+ * the method, as the generated {@linkplain Delegate delegates} do.
+ */
+@Immutable
+final class DispatchPlan {
+
+    /**
+     * Tells how the invocations of the method are handled.
+     */
+    private final MethodDispatch dispatch;
+
+    /**
+     * The type of the value returned by the method.
+     */
+    @SuppressWarnings("Immutable") // `Class` instances are effectively immutable.
+    private final Class<?> returnType;
+
+    /**
+     * The component type of the array returned by the method, or {@code null}
+     * if the method does not return an array.
+     */
+    @SuppressWarnings("Immutable") // `Class` instances are effectively immutable.
+    private final @Nullable Class<?> componentType;
+
+    private DispatchPlan(Method method) {
+        this.dispatch = MethodDispatch.of(method);
+        this.returnType = method.getReturnType();
+        this.componentType = returnType.getComponentType();
+    }
+
+    /**
+     * Creates a new plan for the passed method.
+     */
+    static DispatchPlan of(Method method) {
+        return new DispatchPlan(method);
+    }
+
+    /**
+     * Tells if the argument of the method should be unwrapped before passing it to the target.
+     */
+    boolean unwrapsArgument() {
+        return dispatch.unwrapsArguments();
+    }
+
+    /**
+     * Invokes the method on the passed target and processes the returned value
+     * according to this plan.
+     *
+     * @param doclet
+     *         the doclet filtering and wrapping the value
+     * @param target
+     *         the object to invoke the method on
+     * @param method
+     *         the method to invoke
+     * @param args
+     *         the arguments of the method, or {@code null} if the method takes no arguments
+     * @return the processed value
+     */
+    @Nullable Object invoke(ExcludeInternal doclet,
+                            Object target,
+                            Method method,
+                            Object @Nullable [] args)
+            throws IllegalAccessException, InvocationTargetException {
+        if (dispatch.cachesResult() && componentType != null) {
+            return doclet.filteredArray(target, method.getName(), componentType,
+                                        () -> (Object[]) call(doclet, target, method, args),
+                                        args);
+        }
+        return processResult(doclet, call(doclet, target, method, args));
+    }
+
+    /**
+     * Invokes the method on the passed target, replacing the excluded types in the result
+     * if the method {@linkplain MethodDispatch#rewritesTypes() rewrites types}, and scoping
+     * the result to the module of the doclet.
+     */
+    private @Nullable Object call(ExcludeInternal doclet,
+                                  Object target,
+                                  Method method,
+                                  Object @Nullable [] args)
+            throws IllegalAccessException, InvocationTargetException {
+        Object result = method.invoke(target, args);
+        if (result == null) {
+            return null;
+        }
+        if (dispatch.rewritesTypes()) {
+            if (returnType == ClassDoc.class) {
+                return doclet.visible((ClassDoc) result);
+            }
+            return result instanceof Type[]
+                   ? doclet.visible((Type[]) result)
+                   : doclet.visible((Type) result);
+        }
+        switch (dispatch.scoping()) {
+            case INCLUSION:
+                return doclet.included((Doc) target, (Boolean) result);
+            case LISTING:
+                return doclet.inScope((Object[]) result);
+            case OPTIONS:
+                return doclet.scopedOptions((String[][]) result);
+            default:
+                return result;
+        }
+    }
+
+    /**
+     * Processes the value returned by the target according to this plan.
+     *
+     * @param doclet
+     *         the doclet filtering and wrapping the value
+     * @param result
+     *         the value returned by the target
+     * @return the processed value
+     */
+    private @Nullable Object processResult(ExcludeInternal doclet, @Nullable Object result) {
+        if (!dispatch.processesResult() || result == null) {
+            return result;
+        }
+        if (componentType != null) {
+            return doclet.createArray((Object[]) result, componentType);
+        }
+        return doclet.process(result, returnType);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.DocErrorReporter;
+import com.sun.javadoc.ExecutableMemberDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ParameterizedType;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
+import com.sun.javadoc.WildcardType;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+
+/**
+ * Reports what the {@link Filter} hides from the documentation, without generating it.
+ *
+ * <p>The report lists:
+ * <ol>
+ *     <li>the excluded program elements;
+ *     <li>the signatures of the documented public and protected elements, which refer to
+ *     the excluded classes, e.g. a public method returning an {@code @Internal} class,
+ *     or a class extending it.
+ * </ol>
+ *
+ * <p>The documented elements are walked through the root {@linkplain ExcludeInternal#process
+ * processed} by the doclet, i.e. as the standard doclet sees them. So the excluded elements
+ * are skipped, and the types {@linkplain VisibleTypes replaced} by the doclet are checked
+ * instead of the original ones. The elements are unwrapped before checking them against
+ * the filter, as the filter knows the elements of the Javadoc tool only.
+ *
+ * <p>The run {@linkplain #report fails} if a leak is found, so that the dry run may serve
+ * as a check on CI.
+ */
+final class DryRun {
+
+    private final RootDoc root;
+    private final Filter filter;
+
+    /**
+     * Creates a new dry run.
+     *
+     * @param root
+     *         the documentation root processed by the doclet
+     * @param filter
+     *         the filter of the doclet
+     */
+    DryRun(RootDoc root, Filter filter) {
+        this.root = root;
+        this.filter = filter;
+    }
+
+    /**
+     * Obtains the excluded program elements of the root, each prefixed with the reason
+     * of the exclusion.
+     */
+    ImmutableList<String> hiddenElements() {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        for (Map.Entry<ProgramElementDoc, Exclusion> entry : filter.excluded()
+                                                                   .entrySet()) {
+            String reason = entry.getValue() == Exclusion.BY_ANNOTATION
+                            ? "annotation"
+                            : "package";
+            result.add(String.format("%s (by %s)",
+                                     ExclusionManifest.keyOf(entry.getKey()), reason));
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the descriptions of the documented signatures, which refer to excluded classes.
+     */
+    ImmutableList<String> leaks() {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        for (ClassDoc cls : root.classes()) {
+            if (documented(cls)) {
+                checkClass(cls, result);
+            }
+        }
+        return result.build();
+    }
+
+    private void checkClass(ClassDoc cls, ImmutableList.Builder<String> leaks) {
+        check(cls, "extends", cls.superclassType(), leaks);
+        for (Type type : cls.interfaceTypes()) {
+            check(cls, "implements", type, leaks);
+        }
+        for (FieldDoc field : cls.fields()) {
+            if (documented(field)) {
+                check(field, "has the type", field.type(), leaks);
+            }
+        }
+        for (MethodDoc method : cls.methods()) {
+            if (documented(method)) {
+                check(method, "returns", method.returnType(), leaks);
+                checkExecutable(method, leaks);
+            }
+        }
+        for (ExecutableMemberDoc constructor : cls.constructors()) {
+            if (documented(constructor)) {
+                checkExecutable(constructor, leaks);
+            }
+        }
+    }
+
+    private void checkExecutable(ExecutableMemberDoc executable,
+                                 ImmutableList.Builder<String> leaks) {
+        for (Parameter parameter : executable.parameters()) {
+            check(executable, "accepts", parameter.type(), leaks);
+        }
+        for (Type thrown : executable.thrownExceptionTypes()) {
+            check(executable, "throws", thrown, leaks);
+        }
+    }
+
+    private void check(ProgramElementDoc element,
+                       String relation,
+                       @Nullable Type type,
+                       ImmutableList.Builder<String> leaks) {
+        ClassDoc hidden = hiddenClassIn(type);
+        if (hidden != null) {
+            leaks.add(String.format("%s %s %s, which is excluded",
+                                    ExclusionManifest.keyOf(element),
+                                    relation,
+                                    hidden.qualifiedName()));
+        }
+    }
+
+    /**
+     * Finds an excluded class used by the passed type, including its type arguments
+     * and wildcard bounds.
+     *
+     * <p>Type variables are not checked, as their bounds are checked where the variables
+     * are declared.
+     *
+     * @return the excluded class, or {@code null} if the type uses no excluded classes
+     */
+    private @Nullable ClassDoc hiddenClassIn(@Nullable Type type) {
+        if (type == null || type.isPrimitive() || type.asTypeVariable() != null) {
+            return null;
+        }
+        WildcardType wildcard = type.asWildcardType();
+        if (wildcard != null) {
+            return firstHidden(wildcard.extendsBounds(), wildcard.superBounds());
+        }
+        ClassDoc cls = type.asClassDoc();
+        if (cls != null && excluded(cls)) {
+            return cls;
+        }
+        ParameterizedType parameterized = type.asParameterizedType();
+        if (parameterized != null) {
+            return firstHidden(parameterized.typeArguments());
+        }
+        return null;
+    }
+
+    private @Nullable ClassDoc firstHidden(Type[]... types) {
+        for (Type[] group : types) {
+            for (Type type : group) {
+                ClassDoc hidden = hiddenClassIn(type);
+                if (hidden != null) {
+                    return hidden;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells if the passed element is a part of the documented public API.
+     */
+    private boolean documented(ProgramElementDoc element) {
+        return (element.isPublic() || element.isProtected())
+                && !excluded(element);
+    }
+
+    private boolean excluded(ProgramElementDoc element) {
+        ProgramElementDoc target = (ProgramElementDoc) ExcludeHandler.unwrap(element);
+        return target != null && filter.test(target);
+    }
+
+    /**
+     * Prints the report as notices for the hidden elements and errors for the leaking
+     * signatures.
+     *
+     * <p>The leaks are reported as errors deliberately, so that the Javadoc run fails
+     * on them, and the dry run may serve as a check on CI.
+     *
+     * @return {@code true} if no documented signature refers to an excluded class
+     */
+    boolean report(DocErrorReporter reporter) {
+        ImmutableList<String> hidden = hiddenElements();
+        reporter.printNotice(String.format("%d program elements are excluded:", hidden.size()));
+        for (String element : hidden) {
+            reporter.printNotice("  " + element);
+        }
+        ImmutableList<String> leaks = leaks();
+        for (String leak : leaks) {
+            reporter.printError(leak);
+        }
+        return leaks.isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.ProgramElementDoc;
+
+/**
+ * The properties of a program element, which tell if the element should be excluded.
+ *
+ * <p>Reading the properties makes the Javadoc tool complete the compiler symbols of
+ * the element, which is neither cheap nor thread-safe. Once read, the properties
+ * are plain strings, which can be checked on any thread.
+ */
+@Immutable
+final class ElementFacts {
+
+    private final ImmutableList<String> annotations;
+    private final String packageName;
+
+    private ElementFacts(ImmutableList<String> annotations, String packageName) {
+        this.annotations = annotations;
+        this.packageName = packageName;
+    }
+
+    /**
+     * Reads the properties of the passed element.
+     */
+    static ElementFacts of(ProgramElementDoc element) {
+        AnnotationDesc[] descriptors = element.annotations();
+        ImmutableList.Builder<String> annotations =
+                ImmutableList.builderWithExpectedSize(descriptors.length);
+        for (AnnotationDesc annotation : descriptors) {
+            annotations.add(annotation.annotationType()
+                                      .qualifiedTypeName());
+        }
+        String packageName = element.containingPackage()
+                                    .name();
+        return new ElementFacts(annotations.build(), packageName);
+    }
+
+    /**
+     * Obtains the qualified names of the annotations of the element.
+     */
+    ImmutableList<String> annotations() {
+        return annotations;
+    }
+
+    /**
+     * Obtains the name of the package of the element.
+     */
+    String packageName() {
+        return packageName;
+    }
+}
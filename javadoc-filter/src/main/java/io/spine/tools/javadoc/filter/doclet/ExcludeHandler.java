@@ -32,6 +32,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 
@@ -40,6 +42,11 @@ import static io.spine.util.Exceptions.illegalStateWithCauseOf;
  */
 final class ExcludeHandler implements InvocationHandler {
 
+    /**
+     * The plans of handling the invocations, by the invoked method.
+     */
+    private static final ConcurrentMap<Method, DispatchPlan> plans = new ConcurrentHashMap<>();
+
     private final ExcludeInternal doclet;
     private final Object target;
 
@@ -50,22 +57,33 @@ final class ExcludeHandler implements InvocationHandler {
 
     @Override
     public @Nullable Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (args != null && IgnoredMethod.isIgnored(method.getName())) {
+        DispatchPlan plan = plans.computeIfAbsent(method, DispatchPlan::of);
+        doclet.stats()
+              .invoked(method);
+        if (args != null && plan.unwrapsArgument()) {
             Object unwrapped = unwrap(args[0]);
             args[0] = unwrapped;
         }
         try {
-            Object result = doclet.process(method.invoke(target, args), method.getReturnType());
+            Object result = plan.invoke(doclet, target, method, args);
             return result;
         } catch (InvocationTargetException e) {
             throw illegalStateWithCauseOf(e);
         }
     }
 
-    private static Object unwrap(Object proxy) {
+    /**
+     * Obtains the object wrapped into the passed proxy or {@linkplain Delegate delegate}.
+     *
+     * <p>If the passed object is neither, returns it as is.
+     */
+    static @Nullable Object unwrap(@Nullable Object proxy) {
         if (proxy instanceof Proxy) {
             return ((ExcludeHandler) Proxy.getInvocationHandler(proxy)).target;
         }
+        if (proxy instanceof Delegate) {
+            return ((Delegate<?>) proxy).target;
+        }
         return proxy;
     }
 }
@@ -26,19 +26,29 @@
 
 package io.spine.tools.javadoc.filter.doclet;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.MapMaker;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.DocErrorReporter;
 import com.sun.javadoc.ProgramElementDoc;
 import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
 import com.sun.tools.doclets.standard.Standard;
 import com.sun.tools.javadoc.Main;
 import io.spine.annotation.Internal;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Extension of {@linkplain Standard} doclet, which excludes
@@ -63,15 +73,136 @@ import java.util.List;
  *
  * <p>If everything done right, you will get the standard documentation generated by Javadoc tool,
  * except {@linkplain Internal}-annotated components.
+ *
+ * <p>Pass the {@code -excludeannotation} option with the qualified names of annotations,
+ * separated by commas, to exclude the elements annotated with them as well.
+ *
+ * <p>Pass the {@code -excludepackage} option with glob patterns of package names, separated by
+ * commas, or the {@code -excludepackageregex} option with a regular expression to exclude
+ * the {@linkplain PackagePatterns matching packages} and their sub-packages.
+ *
+ * <p>Pass the {@code -hideexcludedtypes} option to replace the excluded types in
+ * the {@linkplain VisibleTypes signatures} of the documented elements with their nearest
+ * visible supertypes.
+ *
+ * <p>Pass the {@code -filterstats} option with a file name to write the
+ * {@linkplain FilterStats statistics} of the run to the file as JSON.
+ *
+ * <p>Pass the {@code -exclusionmanifest} option with a file name to write the
+ * {@linkplain ExclusionManifest manifest} of the excluded elements to the file. When the sources
+ * do not change, the next run reads the exclusions from the manifest.
+ *
+ * <p>Pass the {@code -dryrun} option to only {@linkplain DryRun report} the excluded elements
+ * and the public signatures referring to them, without generating the documentation.
+ * The run fails if such signatures are found.
+ *
+ * <p>Pass the {@code -module} option with the name and the source directories of a module,
+ * one option per module, to generate the documentation for each {@linkplain ModuleScope module}
+ * into its own subdirectory of the destination directory. The sources of all the modules are
+ * parsed and filtered once.
+ *
+ * <p>By default, the documentation elements are wrapped into reflective proxies.
+ * Pass the {@code -delegates} option to use the {@linkplain Delegate delegates} generated
+ * at build time instead, which call the wrapped elements directly.
+ *
+ * <p>As far as this doclet is concerned, the wrapped documentation tree may be read from
+ * several threads: the exclusions are immutable, and the proxies and the filtered arrays
+ * are kept in concurrent maps. The elements of the Javadoc tool are not designed for
+ * concurrent access, though. Reading them concurrently is safe only for the values which
+ * the tool has already computed, e.g. by an earlier read on a single thread.
  */
 @SuppressWarnings("ExtendsUtilityClass")
 public class ExcludeInternal extends Standard {
 
     private final Filter filter;
+    private final FilterOptions options;
+
+    /**
+     * Proxies and {@linkplain Delegate delegates} created by this doclet,
+     * by the "com.sun..." objects they wrap.
+     *
+     * <p>The keys are compared by identity. Both keys and values are held weakly, so
+     * an entry lives as long as its proxy is referenced by {@linkplain Standard the doclet}.
+     * This way each wrapped object has exactly one proxy, while proxies for short-lived
+     * objects, such as types, do not accumulate during the run.
+     *
+     * <p>Looking up a registered proxy takes no locks. If several threads request a proxy
+     * for the same object at once, each of them may create one, but only the first registered
+     * proxy is returned to all of them.
+     */
+    private final ConcurrentMap<Object, Object> proxies =
+            new MapMaker().weakKeys()
+                          .weakValues()
+                          .makeMap();
+
+    /**
+     * The filtered arrays returned by the methods of the documentation elements.
+     */
+    private final FilteredArrays arrays =
+            new FilteredArrays(FilteredArrays.MAX_CACHED_ELEMENTS);
+
+    /**
+     * The statistics of the run of this doclet.
+     */
+    private final FilterStats stats;
+
+    /**
+     * Replaces the excluded types in the signatures, or {@code null} if the types should
+     * not be replaced.
+     */
+    private final @Nullable VisibleTypes visibleTypes;
+
+    /**
+     * The module to generate the documentation for, or {@code null} if the documentation
+     * is generated for the whole root.
+     */
+    private final @Nullable ModuleScope scope;
 
-    ExcludeInternal(Filter filter) {
+    /**
+     * Creates the doclet which neither replaces the excluded types nor collects statistics.
+     *
+     * <p>The production code creates the doclet {@linkplain #of(RootDoc, Filter, FilterOptions)
+     * for a root} instead.
+     */
+    @VisibleForTesting
+    ExcludeInternal(Filter filter, FilterOptions options) {
+        this(filter, options, null, null, new FilterStats(false));
+    }
+
+    private ExcludeInternal(Filter filter,
+                            FilterOptions options,
+                            @Nullable VisibleTypes visibleTypes,
+                            @Nullable ModuleScope scope,
+                            FilterStats stats) {
         super();
         this.filter = filter;
+        this.options = options;
+        this.visibleTypes = visibleTypes;
+        this.scope = scope;
+        this.stats = stats;
+    }
+
+    /**
+     * Creates the doclet for the passed documentation root.
+     *
+     * <p>If {@linkplain FilterOptions#hidesExcludedTypes() enabled}, computes
+     * the {@linkplain VisibleTypes visible supertypes} of the excluded classes of the root.
+     */
+    static ExcludeInternal of(RootDoc root, Filter filter, FilterOptions options) {
+        VisibleTypes visibleTypes = options.hidesExcludedTypes()
+                                    ? VisibleTypes.of(root, filter)
+                                    : null;
+        FilterStats stats = new FilterStats(options.statsFile()
+                                                   .isPresent());
+        return new ExcludeInternal(filter, options, visibleTypes, null, stats);
+    }
+
+    /**
+     * Creates the doclet for the passed module, which shares the filter,
+     * the visible types and the statistics with this doclet.
+     */
+    private ExcludeInternal scopedTo(ModuleScope module) {
+        return new ExcludeInternal(filter, options, visibleTypes, module, stats);
     }
 
     /**
@@ -84,6 +215,46 @@ public class ExcludeInternal extends Standard {
         Main.execute(name, name, args);
     }
 
+    /**
+     * Obtains the number of command-line arguments taken by the passed option,
+     * as required by Javadoc.
+     *
+     * <p>Recognizes the {@linkplain FilterOptions options of this doclet} in addition
+     * to the options of the {@linkplain Standard standard doclet}.
+     *
+     * @param option
+     *         the option to check
+     * @return the number of arguments including the option itself,
+     *         or zero if the option is not known
+     */
+    @SuppressWarnings({"unused", "RedundantSuppression"}) // called by com.sun.tools.javadoc.Main
+    public static int optionLength(String option) {
+        int length = FilterOptions.lengthOf(option);
+        if (length > 0) {
+            return length;
+        }
+        return Standard.optionLength(option);
+    }
+
+    /**
+     * Checks the passed options, as required by Javadoc.
+     *
+     * <p>Checks the {@linkplain FilterOptions options of this doclet}, and then the options
+     * of the {@linkplain Standard standard doclet}.
+     *
+     * @param options
+     *         the options and their arguments
+     * @param reporter
+     *         the reporter of the invalid options
+     * @return {@code true} if the options are valid, {@code false} otherwise
+     */
+    @SuppressWarnings({"unused", "RedundantSuppression"}) // called by com.sun.tools.javadoc.Main
+    public static boolean validOptions(String[][] options, DocErrorReporter reporter) {
+        return FilterOptions.of(options)
+                            .validate(reporter)
+                && Standard.validOptions(options, reporter);
+    }
+
     /**
      * The "start" method as required by Javadoc.
      *
@@ -94,13 +265,85 @@ public class ExcludeInternal extends Standard {
      */
     @SuppressWarnings({"unused", "RedundantSuppression"}) // called by com.sun.tools.javadoc.Main
     public static boolean start(RootDoc root) {
-        Filter filter = new Filter(root);
-        ExcludeInternal doclet = new ExcludeInternal(filter);
-        RootDoc rootDoc = (RootDoc) doclet.process(root, RootDoc.class);
-        boolean result = Standard.start(rootDoc);
+        FilterOptions options = FilterOptions.from(root);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        Filter filter = new Filter(root, options);
+        ExcludeInternal doclet = of(root, filter, options);
+        if (options.dryRun()) {
+            RootDoc filtered = (RootDoc) doclet.process(root, RootDoc.class);
+            return new DryRun(filtered, filter).report(root);
+        }
+        doclet.stats.filterConstructed(stopwatch.elapsed());
+        stopwatch.reset()
+                 .start();
+        boolean result = options.modules()
+                                .isEmpty()
+                         ? doclet.generate(root)
+                         : doclet.generateModules(root);
+        doclet.stats.standardDocletRan(stopwatch.elapsed());
+        options.statsFile()
+               .ifPresent(file -> doclet.writeStats(file, root));
+        return result;
+    }
+
+    /**
+     * Generates the documentation for the passed root by the standard doclet,
+     * filtered by this doclet.
+     */
+    private boolean generate(RootDoc root) {
+        RootDoc rootDoc = (RootDoc) process(root, RootDoc.class);
+        return Standard.start(rootDoc);
+    }
+
+    /**
+     * Generates the documentation for each {@linkplain FilterOptions#modules() module}
+     * separately, with the filter built once for the whole root.
+     *
+     * <p>The modules are generated one after another, as the standard doclet keeps its
+     * configuration in static fields. The modules with no classes are skipped.
+     *
+     * @return {@code true} if the documentation of all the modules is generated,
+     *         {@code false} otherwise
+     */
+    private boolean generateModules(RootDoc root) {
+        boolean result = true;
+        for (ModuleScope module : ModuleScope.allOf(root, options)) {
+            if (module.isEmpty()) {
+                root.printWarning(String.format(
+                        "Module `%s` has no classes to document.", module.name()));
+                continue;
+            }
+            root.printNotice(String.format("Generating documentation for module `%s`...",
+                                           module.name()));
+            result &= scopedTo(module).generate(root);
+        }
         return result;
     }
 
+    /**
+     * Writes the statistics of the run to the passed file.
+     *
+     * <p>Failing to write the statistics is reported as a warning,
+     * as it does not affect the generated documentation.
+     */
+    private void writeStats(Path file, DocErrorReporter reporter) {
+        stats.excludedBy(filter);
+        try {
+            stats.writeTo(file);
+        } catch (IOException e) {
+            reporter.printWarning(
+                    String.format("Cannot write the filter statistics to `%s`: %s", file, e)
+            );
+        }
+    }
+
+    /**
+     * Obtains the statistics of the run of this doclet.
+     */
+    FilterStats stats() {
+        return stats;
+    }
+
     /**
      * Creates proxy of "com.sun..." interfaces and excludes
      * {@linkplain ProgramElementDoc}s using {@linkplain #filter}.
@@ -114,32 +357,207 @@ public class ExcludeInternal extends Standard {
         if (returnValue == null) {
             return null;
         }
-        boolean belongsToComSun =
-                returnValue.getClass()
-                           .getName()
-                           .startsWith("com.sun.");
-        if (belongsToComSun) {
-            return createProxy(returnValue);
+        if (belongsToComSun(returnValue)) {
+            return proxyFor(returnValue);
         } else if (returnValue instanceof Object[] && returnValueType.getComponentType() != null) {
-            return createArray((Object[]) returnValue, returnValueType);
+            return createArray((Object[]) returnValue, returnValueType.getComponentType());
         } else {
             return returnValue;
         }
     }
 
+    private static boolean belongsToComSun(Object value) {
+        return value.getClass()
+                    .getName()
+                    .startsWith("com.sun.");
+    }
+
+    /**
+     * Creates an array of the passed component type, which contains the processed elements
+     * of the passed array, except for the {@linkplain #filter excluded} ones.
+     *
+     * <p>The excluded elements are counted first, so that the resulting array is allocated
+     * with the exact size. If no element is excluded or needs {@linkplain #process processing},
+     * the passed array is returned as is.
+     *
+     * @param returnValue
+     *         the array to filter
+     * @param componentType
+     *         the component type of the resulting array
+     * @return the filtered array
+     */
+    @NonNull
+    Object[] createArray(Object[] returnValue, Class<?> componentType) {
+        stats.arrayFiltered();
+        int excluded = 0;
+        boolean processed = false;
+        for (Object entry : returnValue) {
+            if (isExcluded(entry)) {
+                excluded++;
+            } else if (!processed) {
+                processed = needsProcessing(entry, componentType);
+            }
+        }
+        if (excluded == 0 && !processed && isArrayOf(returnValue, componentType)) {
+            return returnValue;
+        }
+        Object[] result = (Object[]) Array.newInstance(componentType,
+                                                       returnValue.length - excluded);
+        int index = 0;
+        for (Object entry : returnValue) {
+            if (excluded == 0 || !isExcluded(entry)) {
+                result[index++] = process(entry, componentType);
+            }
+        }
+        return result;
+    }
+
+    private boolean isExcluded(@Nullable Object entry) {
+        return entry instanceof ProgramElementDoc
+                && filter.test((ProgramElementDoc) entry);
+    }
+
+    /**
+     * Tells if the {@linkplain #process processed} entry would differ from the passed one.
+     */
+    private static boolean needsProcessing(@Nullable Object entry, Class<?> type) {
+        if (entry == null) {
+            return false;
+        }
+        return belongsToComSun(entry)
+                || (entry instanceof Object[] && type.getComponentType() != null);
+    }
+
+    private static boolean isArrayOf(Object[] array, Class<?> componentType) {
+        return componentType.isAssignableFrom(array.getClass()
+                                                   .getComponentType());
+    }
+
+    /**
+     * Obtains the {@linkplain #createArray filtered} array returned by the method of
+     * the passed target, calling the method only if the array is not
+     * {@linkplain FilteredArrays cached} yet.
+     *
+     * @param target
+     *         the wrapped documentation element
+     * @param method
+     *         the name of the method
+     * @param componentType
+     *         the component type of the resulting array
+     * @param call
+     *         calls the method of the target
+     * @param arguments
+     *         the arguments of the method
+     * @return a copy of the filtered array
+     */
+    @NonNull
+    Object[] filteredArray(Object target,
+                           String method,
+                           Class<?> componentType,
+                           Callable<Object[]> call,
+                           Object @Nullable ... arguments) {
+        return arrays.get(target, method, arguments,
+                          () -> createArray(call.call(), componentType));
+    }
+
+    /**
+     * Obtains the nearest visible supertype of the passed type, if the type is excluded
+     * and {@linkplain FilterOptions#hidesExcludedTypes() should be hidden}.
+     *
+     * @return the supertype, or the passed type if it is not replaced
+     */
+    @Nullable Type visible(@Nullable Type type) {
+        return visibleTypes == null ? type : visibleTypes.visible(type);
+    }
+
+    /**
+     * Obtains the nearest visible superclass of the passed class, if the class is excluded
+     * and {@linkplain FilterOptions#hidesExcludedTypes() should be hidden}.
+     *
+     * @return the superclass, or the passed class if it is not replaced
+     */
+    @Nullable ClassDoc visible(@Nullable ClassDoc cls) {
+        return visibleTypes == null ? cls : visibleTypes.visible(cls);
+    }
+
+    /**
+     * Replaces the excluded types among the passed ones with their visible supertypes,
+     * if the excluded types {@linkplain FilterOptions#hidesExcludedTypes() should be hidden}.
+     *
+     * @return the types with the replacements, or the passed array if no type is replaced
+     */
+    Type[] visible(Type[] types) {
+        return visibleTypes == null ? types : visibleTypes.visible(types);
+    }
+
+    /**
+     * Tells if the passed element is {@linkplain Doc#isIncluded() included}, taking into
+     * account the {@linkplain ModuleScope module} the documentation is generated for.
+     *
+     * @param doc
+     *         the wrapped documentation element
+     * @param included
+     *         tells if the element is included by the Javadoc tool
+     */
+    boolean included(Doc doc, boolean included) {
+        return included && (scope == null || scope.contains(doc));
+    }
+
+    /**
+     * Leaves only the listed elements of the {@linkplain ModuleScope module}
+     * the documentation is generated for.
+     *
+     * @return the elements of the module, or the passed array if all of them belong to it
+     */
+    <T> T[] inScope(T[] elements) {
+        return scope == null ? elements : scope.filter(elements);
+    }
+
+    /**
+     * Replaces the destination directory in the passed options with the one of
+     * the {@linkplain ModuleScope module} the documentation is generated for.
+     */
+    String[][] scopedOptions(String[][] options) {
+        return scope == null ? options : scope.options(options);
+    }
+
+    /**
+     * Obtains the proxy for the passed value, creating it on the first request.
+     */
+    @NonNull
+    private Object proxyFor(@NonNull Object returnValue) {
+        Object proxy = proxies.get(returnValue);
+        if (proxy != null) {
+            return proxy;
+        }
+        Object created = wrap(returnValue);
+        Object raced = proxies.putIfAbsent(returnValue, created);
+        if (raced != null) {
+            return raced;
+        }
+        if (created instanceof Delegate) {
+            stats.delegateCreated();
+        } else {
+            stats.proxyCreated();
+        }
+        return created;
+    }
+
+    /**
+     * Wraps the passed value into a {@linkplain Delegate delegate}, if enabled by
+     * the {@linkplain FilterOptions#delegates() options} and available for the value.
+     * Otherwise, creates a reflective proxy.
+     */
     @NonNull
-    private Object[] createArray(Object[] returnValue, Class<?> returnValueType) {
-        Class<?> componentType = returnValueType.getComponentType();
-        Object[] array = returnValue;
-        List<Object> list = new ArrayList<>();
-        for (Object entry : array) {
-            if (!(entry instanceof ProgramElementDoc
-                    && filter.test((ProgramElementDoc) entry))) {
-                list.add(process(entry, componentType));
+    private Object wrap(@NonNull Object returnValue) {
+        if (options.delegates()) {
+            Optional<Delegate.Factory> factory = Delegate.factoryFor(returnValue.getClass());
+            if (factory.isPresent()) {
+                return factory.get()
+                              .create(this, returnValue);
             }
         }
-        Object[] arr = list.toArray((Object[]) Array.newInstance(componentType, list.size()));
-        return arr;
+        return createProxy(returnValue);
     }
 
     @NonNull
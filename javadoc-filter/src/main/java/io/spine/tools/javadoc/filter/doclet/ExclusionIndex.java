@@ -0,0 +1,222 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableMap;
+import com.sun.javadoc.AnnotationTypeDoc;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MemberDoc;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+
+/**
+ * The index of {@link ProgramElementDoc}s to be excluded from the documentation.
+ *
+ * <p>The index is built for the {@linkplain RootDoc#classes() classes} of a documentation root
+ * and their members before the documentation is generated. For each element, its
+ * {@linkplain ElementFacts facts} are read, and the exclusion is decided by them.
+ *
+ * <p>The index is built on the calling thread. Reading the facts, which makes the Javadoc tool
+ * complete the compiler symbols of the elements, takes the most of the time, and cannot be
+ * done concurrently. The decisions themselves are lookups in a hash set and a package trie,
+ * which are too cheap to be worth splitting across threads.
+ *
+ * <p>The decisions are stored in an immutable table. Program elements which do not belong to
+ * the root, such as superclasses coming from libraries, are checked on their first lookup
+ * and remembered afterwards.
+ *
+ * <p>The index is safe for concurrent lookups.
+ *
+ * <p>The index may also be {@linkplain #load loaded} from an {@link ExclusionManifest}
+ * written by an earlier run.
+ */
+final class ExclusionIndex {
+
+    /**
+     * Decides if an element with the given facts should be excluded.
+     */
+    private final Function<ElementFacts, Exclusion> rules;
+
+    /**
+     * The exclusions of the program elements of the root, by the element.
+     */
+    private final ImmutableMap<ProgramElementDoc, Exclusion> table;
+
+    /**
+     * The exclusions of the program elements looked up outside of the root, by the element.
+     */
+    private final ConcurrentMap<ProgramElementDoc, Exclusion> others = new ConcurrentHashMap<>();
+
+    private ExclusionIndex(Function<ElementFacts, Exclusion> rules,
+                           ImmutableMap<ProgramElementDoc, Exclusion> table) {
+        this.rules = rules;
+        this.table = table;
+    }
+
+    /**
+     * Builds the index for the program elements of the passed documentation root.
+     *
+     * @param root
+     *         the root of the documentation tree
+     * @param rules
+     *         decides if an element with the given facts should be excluded;
+     *         must be safe to call concurrently, as elements outside of the root
+     *         may be looked up concurrently
+     * @return the new index
+     */
+    static ExclusionIndex build(RootDoc root, Function<ElementFacts, Exclusion> rules) {
+        ImmutableMap.Builder<ProgramElementDoc, Exclusion> table = ImmutableMap.builder();
+        for (ProgramElementDoc element : elementsOf(root)) {
+            table.put(element, rules.apply(ElementFacts.of(element)));
+        }
+        return new ExclusionIndex(rules, table.build());
+    }
+
+    /**
+     * Creates the index for the program elements of the passed documentation root,
+     * taking their exclusions from the passed manifest.
+     *
+     * <p>The annotations of the elements are not read. The members of a class, none of which
+     * is listed in the manifest, are taken as not excluded without computing their signatures.
+     *
+     * @param root
+     *         the root of the documentation tree
+     * @param manifest
+     *         the manifest of the exclusions, derived from the same inputs as the root
+     * @param rules
+     *         decides if an element, which does not belong to the root, should be excluded
+     * @return the new index
+     */
+    static ExclusionIndex load(RootDoc root,
+                               ExclusionManifest manifest,
+                               Function<ElementFacts, Exclusion> rules) {
+        ImmutableMap.Builder<ProgramElementDoc, Exclusion> table = ImmutableMap.builder();
+        for (ProgramElementDoc element : elementsOf(root)) {
+            boolean unlistedMember = element instanceof MemberDoc
+                    && !manifest.listsMembersOf(element.containingClass()
+                                                       .qualifiedName());
+            table.put(element, unlistedMember ? Exclusion.NONE : manifest.exclusionOf(element));
+        }
+        return new ExclusionIndex(rules, table.build());
+    }
+
+    /**
+     * Obtains the classes of the passed root and their members, in the order of the root.
+     */
+    private static Set<ProgramElementDoc> elementsOf(RootDoc root) {
+        Set<ProgramElementDoc> elements = new LinkedHashSet<>();
+        for (ClassDoc cls : root.classes()) {
+            elements.add(cls);
+            Collections.addAll(elements, cls.fields());
+            Collections.addAll(elements, cls.enumConstants());
+            Collections.addAll(elements, cls.methods());
+            Collections.addAll(elements, cls.constructors());
+            if (cls instanceof AnnotationTypeDoc) {
+                Collections.addAll(elements, ((AnnotationTypeDoc) cls).elements());
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Tells if the passed program element should be excluded.
+     */
+    boolean isExcluded(ProgramElementDoc element) {
+        return exclusionOf(element).excluded();
+    }
+
+    private Exclusion exclusionOf(ProgramElementDoc element) {
+        Exclusion exclusion = table.get(element);
+        if (exclusion != null) {
+            return exclusion;
+        }
+        // Check before computing, as `computeIfAbsent()` may lock even if the key is present.
+        exclusion = others.get(element);
+        if (exclusion != null) {
+            return exclusion;
+        }
+        return others.computeIfAbsent(element, e -> rules.apply(ElementFacts.of(e)));
+    }
+
+    /**
+     * Obtains the excluded program elements of the documentation root, for which
+     * the index was built.
+     */
+    ImmutableMap<ProgramElementDoc, Exclusion> excluded() {
+        return table.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue()
+                                          .excluded())
+                    .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * Obtains the number of program elements known to the index.
+     */
+    int size() {
+        return table.size() + others.size();
+    }
+
+    /**
+     * Obtains the numbers of program elements known to the index, by their exclusion.
+     */
+    Map<Exclusion, Integer> counts() {
+        Map<Exclusion, Integer> counts = new EnumMap<>(Exclusion.class);
+        for (Exclusion exclusion : Exclusion.values()) {
+            counts.put(exclusion, 0);
+        }
+        count(table.values(), counts);
+        count(others.values(), counts);
+        return counts;
+    }
+
+    private static void count(Collection<Exclusion> exclusions, Map<Exclusion, Integer> counts) {
+        for (Exclusion exclusion : exclusions) {
+            counts.merge(exclusion, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Obtains the number of program elements known to be excluded.
+     */
+    int excludedCount() {
+        Map<Exclusion, Integer> counts = counts();
+        return counts.get(Exclusion.BY_ANNOTATION) + counts.get(Exclusion.BY_PACKAGE);
+    }
+}
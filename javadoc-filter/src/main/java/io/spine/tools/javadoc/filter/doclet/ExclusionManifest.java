@@ -0,0 +1,364 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.ExecutableMemberDoc;
+import com.sun.javadoc.MemberDoc;
+import com.sun.javadoc.PackageDoc;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.SourcePosition;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The list of the packages and program elements excluded from the documentation,
+ * along with the hash of the inputs they were derived from.
+ *
+ * <p>The manifest is a UTF-8 text file with one entry per line:
+ * <pre>
+ * inputs sha256:&lt;hash of the sources and the options&gt;
+ * package com.acme.internal
+ * by-annotation com.acme.Engine#start(int)
+ * by-package com.acme.internal.Helper
+ * </pre>
+ *
+ * <p>Classes are written by their qualified names. Members are written by the qualified names
+ * of their classes and their names, separated by {@code #}, followed by the signature
+ * for methods and constructors. Lines starting with {@code #} are comments.
+ *
+ * <p>If the {@linkplain #inputsOf(RootDoc, FilterOptions) inputs} of a run are the same as
+ * the ones of the manifest, the exclusions are read from the manifest instead of scanning
+ * the annotations of the elements. Other tools may read the manifest to know which API is
+ * not documented.
+ */
+@Immutable
+final class ExclusionManifest {
+
+    private static final String COMMENT = "#";
+    private static final String INPUTS = "inputs";
+    private static final String PACKAGE = "package";
+    private static final String BY_ANNOTATION = "by-annotation";
+    private static final String BY_PACKAGE = "by-package";
+
+    /**
+     * The suffix of the temp files, to which the manifest is written before replacing
+     * the previous one.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".writing";
+
+    /**
+     * The version of the manifest format, which is a part of the inputs hash.
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    private final String inputs;
+    private final ImmutableSortedSet<String> packages;
+    private final ImmutableSortedMap<String, Exclusion> elements;
+
+    @VisibleForTesting
+    ExclusionManifest(String inputs,
+                      Iterable<String> packages,
+                      Map<String, Exclusion> elements) {
+        this.inputs = inputs;
+        this.packages = ImmutableSortedSet.copyOf(packages);
+        this.elements = ImmutableSortedMap.copyOf(elements);
+    }
+
+    /**
+     * Creates a manifest of the passed exclusions.
+     *
+     * @param inputs
+     *         the hash of the inputs the exclusions were derived from
+     * @param packages
+     *         the names of the excluded packages
+     * @param excluded
+     *         the excluded program elements
+     * @return the new manifest
+     */
+    static ExclusionManifest of(String inputs,
+                                Iterable<String> packages,
+                                Map<ProgramElementDoc, Exclusion> excluded) {
+        ImmutableSortedMap.Builder<String, Exclusion> elements = ImmutableSortedMap.naturalOrder();
+        excluded.forEach((element, exclusion) -> elements.put(keyOf(element), exclusion));
+        return new ExclusionManifest(inputs, packages, elements.build());
+    }
+
+    /**
+     * Calculates the hash of the inputs, from which the exclusions of the passed documentation
+     * root are derived.
+     *
+     * <p>The inputs are the source files of the classes and packages of the root,
+     * the {@linkplain FilterOptions#excludedAnnotations() excluded annotations}, and
+     * the {@linkplain FilterOptions#excludedPackagePatterns() patterns} of the excluded
+     * packages.
+     *
+     * <p>A source file is hashed by its path, size and last modification time, so that
+     * the check of a manifest does not read the sources. The strings are hashed along with
+     * their lengths, and the lists along with their sizes, so that different inputs do not
+     * give the same sequence of hashed bytes.
+     *
+     * @throws IOException
+     *         if the attributes of a source file cannot be read
+     */
+    static String inputsOf(RootDoc root, FilterOptions options) throws IOException {
+        SortedSet<File> sources = new TreeSet<>();
+        for (PackageDoc packageDoc : root.specifiedPackages()) {
+            addSource(packageDoc, sources);
+        }
+        for (ClassDoc cls : root.classes()) {
+            addSource(cls, sources);
+            addSource(cls.containingPackage(), sources);
+        }
+        Hasher hasher = Hashing.sha256()
+                               .newHasher()
+                               .putInt(FORMAT_VERSION);
+        putAll(hasher, ImmutableSortedSet.copyOf(options.excludedAnnotations()));
+        putAll(hasher, options.excludedPackageGlobs());
+        putAll(hasher, options.excludedPackageRegexes());
+        for (File source : sources) {
+            BasicFileAttributes attributes =
+                    Files.readAttributes(source.toPath(), BasicFileAttributes.class);
+            String path = source.getPath();
+            hasher.putInt(path.length())
+                  .putString(path, UTF_8)
+                  .putLong(attributes.size())
+                  .putLong(attributes.lastModifiedTime()
+                                     .toMillis());
+        }
+        return "sha256:" + hasher.hash();
+    }
+
+    /**
+     * Puts the passed strings into the hasher, so that different lists of strings
+     * are hashed differently even when their concatenations are the same.
+     */
+    private static void putAll(Hasher hasher, Collection<String> values) {
+        hasher.putInt(values.size());
+        for (String value : values) {
+            hasher.putInt(value.length())
+                  .putString(value, UTF_8);
+        }
+    }
+
+    private static void addSource(Doc doc, Set<File> sources) {
+        SourcePosition position = doc.position();
+        if (position != null && position.file() != null) {
+            sources.add(position.file());
+        }
+    }
+
+    /**
+     * Obtains the key of the passed program element in the manifest.
+     */
+    static String keyOf(ProgramElementDoc element) {
+        if (!(element instanceof MemberDoc)) {
+            return element.qualifiedName();
+        }
+        String key = element.containingClass()
+                            .qualifiedName() + '#' + element.name();
+        if (element instanceof ExecutableMemberDoc) {
+            key += ((ExecutableMemberDoc) element).signature();
+        }
+        return key;
+    }
+
+    /**
+     * Reads the manifest from the passed file.
+     *
+     * @return the manifest, or {@code Optional.empty()} if the file does not exist
+     * @throws IOException
+     *         if the file cannot be read or is not a manifest
+     */
+    static Optional<ExclusionManifest> readFrom(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        String inputs = null;
+        ImmutableSortedSet.Builder<String> packages = ImmutableSortedSet.naturalOrder();
+        ImmutableSortedMap.Builder<String, Exclusion> elements = ImmutableSortedMap.naturalOrder();
+        try (BufferedReader in = Files.newBufferedReader(file, UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith(COMMENT)) {
+                    continue;
+                }
+                int space = line.indexOf(' ');
+                if (space < 0) {
+                    throw malformed(file, line);
+                }
+                String kind = line.substring(0, space);
+                String value = line.substring(space + 1);
+                switch (kind) {
+                    case INPUTS:
+                        inputs = value;
+                        break;
+                    case PACKAGE:
+                        packages.add(value);
+                        break;
+                    case BY_ANNOTATION:
+                        elements.put(value, Exclusion.BY_ANNOTATION);
+                        break;
+                    case BY_PACKAGE:
+                        elements.put(value, Exclusion.BY_PACKAGE);
+                        break;
+                    default:
+                        throw malformed(file, line);
+                }
+            }
+        }
+        if (inputs == null) {
+            throw new IOException(String.format("The manifest `%s` has no inputs hash.", file));
+        }
+        return Optional.of(new ExclusionManifest(inputs, packages.build(), elements.build()));
+    }
+
+    private static IOException malformed(Path file, String line) {
+        return new IOException(
+                String.format("Unexpected line in the manifest `%s`: `%s`.", file, line)
+        );
+    }
+
+    /**
+     * Writes the manifest to the passed file.
+     *
+     * <p>The manifest is written to a temp file next to the passed one, which then replaces
+     * the passed file by an atomic move. So, a run which fails or is killed half-way never
+     * leaves a truncated manifest, which the next run would read as up to date. If the file
+     * system cannot replace the file atomically, a non-atomic move is used instead.
+     */
+    void writeTo(Path file) throws IOException {
+        Path folder = file.toAbsolutePath()
+                          .getParent();
+        Path tempFile = createTempFile(folder, file.getFileName() + ".", TEMP_FILE_SUFFIX);
+        try {
+            write(tempFile);
+            try {
+                move(tempFile, file, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+                move(tempFile, file, REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                deleteIfExists(tempFile);
+            } catch (IOException deletionFailure) {
+                e.addSuppressed(deletionFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void write(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, UTF_8)) {
+            out.write(COMMENT + " Elements excluded from the documentation by javadoc-filter.\n");
+            writeLine(out, INPUTS, inputs);
+            for (String packageName : packages) {
+                writeLine(out, PACKAGE, packageName);
+            }
+            for (Map.Entry<String, Exclusion> element : elements.entrySet()) {
+                String kind = element.getValue() == Exclusion.BY_ANNOTATION
+                              ? BY_ANNOTATION
+                              : BY_PACKAGE;
+                writeLine(out, kind, element.getKey());
+            }
+        }
+    }
+
+    private static void writeLine(Writer out, String kind, String value) throws IOException {
+        out.write(kind);
+        out.write(' ');
+        out.write(value);
+        out.write('\n');
+    }
+
+    /**
+     * Obtains the hash of the inputs the exclusions were derived from.
+     */
+    String inputs() {
+        return inputs;
+    }
+
+    /**
+     * Obtains the names of the excluded packages.
+     */
+    ImmutableSortedSet<String> packages() {
+        return packages;
+    }
+
+    /**
+     * Obtains the exclusion of the passed program element.
+     *
+     * @return the exclusion, or {@link Exclusion#NONE} if the element is not listed
+     */
+    Exclusion exclusionOf(ProgramElementDoc element) {
+        return exclusionOf(keyOf(element));
+    }
+
+    @VisibleForTesting
+    Exclusion exclusionOf(String key) {
+        Exclusion exclusion = elements.get(key);
+        return exclusion == null ? Exclusion.NONE : exclusion;
+    }
+
+    /**
+     * Tells if some members of the class with the passed qualified name are listed.
+     */
+    boolean listsMembersOf(String className) {
+        // The keys of the members start with `<class name>#`, and `$` follows `#` in ASCII.
+        return !elements.subMap(className + '#', className + '$')
+                        .isEmpty();
+    }
+}
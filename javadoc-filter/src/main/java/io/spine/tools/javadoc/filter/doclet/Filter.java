@@ -26,53 +26,205 @@
 
 package io.spine.tools.javadoc.filter.doclet;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.DocErrorReporter;
 import com.sun.javadoc.PackageDoc;
 import com.sun.javadoc.ProgramElementDoc;
 import com.sun.javadoc.RootDoc;
 import io.spine.annotation.Internal;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 
 /**
  * Tests if a {@code ProgramElementDoc} represents a Java code annotated
- * with {@link Internal} annotation.
+ * with {@link Internal} annotation, or with another
+ * {@linkplain FilterOptions#excludedAnnotations() excluded annotation}.
  *
  * <p>Excludes all program elements including packages and their subpackages.
+ * The packages are also excluded by the {@linkplain FilterOptions#excludedPackagePatterns()
+ * patterns} of their names.
+ *
+ * <p>If the {@linkplain FilterOptions#manifestFile() manifest file} is set, the exclusions
+ * are read from the {@linkplain ExclusionManifest manifest} derived from the same inputs.
+ * Otherwise, the exclusions are derived from the annotations and written to the file.
  */
-final class Filter implements Predicate<ProgramElementDoc> {
+final class Filter implements Predicate<ProgramElementDoc>, Logging {
 
-    private final AnnotationCheck<Class<Internal>> internalAnnotation =
-            new AnnotationCheck<>(Internal.class);
+    private final AnnotationCheck excludedAnnotations;
 
     /**
      * Packages to be excluded in the passed documentation root.
      */
-    private final Set<PackageDoc> excludedPackages;
+    private final PackageTrie excludedPackages;
+
+    /**
+     * The patterns of the names of the packages to be excluded.
+     */
+    private final PackagePatterns packagePatterns;
+
+    /**
+     * The program elements of the passed documentation root, which are to be excluded.
+     */
+    private final ExclusionIndex index;
 
-    Filter(RootDoc root) {
-        PackageCollector packageCollector = new PackageCollector(internalAnnotation);
+    Filter(RootDoc root, FilterOptions options) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        this.excludedAnnotations = new AnnotationCheck(options.excludedAnnotations());
+        this.packagePatterns = options.excludedPackagePatterns();
+        Optional<Path> manifestFile = options.manifestFile();
+        @Nullable String inputs = manifestFile.isPresent()
+                                  ? inputsOf(root, options)
+                                  : null;
+        @Nullable ExclusionManifest manifest = inputs != null
+                                               ? reusableManifest(manifestFile.get(), inputs, root)
+                                               : null;
+        if (manifest != null) {
+            this.excludedPackages = PackageTrie.of(manifest.packages());
+            this.index = ExclusionIndex.load(root, manifest, this::decide);
+            _debug().log("Loaded the exclusions of %d program elements from `%s` in %s.",
+                         index.size(), manifestFile.get(), stopwatch.stop());
+            return;
+        }
+        PackageCollector packageCollector = new PackageCollector(excludedAnnotations);
         Set<PackageDoc> collected = packageCollector.collect(root);
-        this.excludedPackages = ImmutableSet.copyOf(collected);
+        this.excludedPackages = PackageCollector.trieOf(collected);
+        this.index = ExclusionIndex.build(root, this::decide);
+        _debug().log("Built the exclusion index of %d program elements (%d excluded) in %s.",
+                     index.size(), index.excludedCount(), stopwatch.stop());
+        if (inputs != null) {
+            ExclusionManifest written = ExclusionManifest.of(
+                    inputs, excludedPackageNames(root, collected), index.excluded()
+            );
+            writeManifest(written, manifestFile.get(), root);
+        }
+    }
+
+    /**
+     * Obtains the names of the passed packages and of the packages of the root,
+     * which match the {@link #packagePatterns}.
+     */
+    private Set<String> excludedPackageNames(RootDoc root, Set<PackageDoc> collected) {
+        Set<String> result = new TreeSet<>();
+        for (PackageDoc packageDoc : collected) {
+            result.add(packageDoc.name());
+        }
+        for (ClassDoc cls : root.classes()) {
+            String packageName = cls.containingPackage()
+                                    .name();
+            if (packagePatterns.matches(packageName)) {
+                result.add(packageName);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the {@linkplain ExclusionManifest#inputsOf inputs hash} of the passed root.
+     *
+     * @return the hash, or {@code null} if the sources cannot be read, in which case
+     *         the manifest is not used
+     */
+    private static @Nullable String inputsOf(RootDoc root, FilterOptions options) {
+        try {
+            return ExclusionManifest.inputsOf(root, options);
+        } catch (IOException e) {
+            root.printWarning(String.format(
+                    "Cannot hash the sources for the exclusion manifest: %s", e));
+            return null;
+        }
     }
 
+    /**
+     * Reads the manifest from the passed file if it was derived from the passed inputs.
+     *
+     * @return the manifest, or {@code null} if there is no manifest for the inputs
+     */
+    private static @Nullable ExclusionManifest
+    reusableManifest(Path file, String inputs, DocErrorReporter reporter) {
+        try {
+            return ExclusionManifest.readFrom(file)
+                                    .filter(manifest -> manifest.inputs()
+                                                                .equals(inputs))
+                                    .orElse(null);
+        } catch (IOException e) {
+            reporter.printWarning(String.format(
+                    "Cannot read the exclusion manifest `%s`: %s", file, e));
+            return null;
+        }
+    }
+
+    /**
+     * Writes the manifest to the passed file.
+     *
+     * <p>Failing to write the manifest is reported as a warning,
+     * as it does not affect the generated documentation.
+     */
+    private static void
+    writeManifest(ExclusionManifest manifest, Path file, DocErrorReporter reporter) {
+        try {
+            manifest.writeTo(file);
+        } catch (IOException e) {
+            reporter.printWarning(String.format(
+                    "Cannot write the exclusion manifest to `%s`: %s", file, e));
+        }
+    }
+
+    /**
+     * Tells if the passed program element is excluded, looking it up in the {@link #index}.
+     */
     @Override
     public boolean test(ProgramElementDoc element) {
-        return internalAnnotation.test(element) || inExclusions(element);
+        return index.isExcluded(element);
     }
 
     /**
-     * Tells if a package of the passed element is one of the {@link #excludedPackages},
-     * or is a sub-package of one of them.
+     * Decides if the element with the passed facts is excluded, and why.
+     *
+     * <p>The decision depends only on the facts and on the immutable state of the filter,
+     * so it is safe to make it concurrently.
      */
-    private boolean inExclusions(ProgramElementDoc element) {
-        String packageName = element.containingPackage().name();
-        for (PackageDoc exclusion : excludedPackages) {
-            if (packageName.startsWith(exclusion.name())) {
-                return true;
-            }
+    private Exclusion decide(ElementFacts facts) {
+        if (excludedAnnotations.test(facts)) {
+            return Exclusion.BY_ANNOTATION;
+        }
+        String packageName = facts.packageName();
+        if (excludedPackages.covers(packageName) || packagePatterns.matches(packageName)) {
+            return Exclusion.BY_PACKAGE;
         }
-        return false;
+        return Exclusion.NONE;
+    }
+
+    /**
+     * Obtains the excluded program elements of the documentation root of this filter.
+     */
+    ImmutableMap<ProgramElementDoc, Exclusion> excluded() {
+        return index.excluded();
+    }
+
+    /**
+     * Obtains the number of program elements excluded because they are annotated with
+     * one of the {@linkplain FilterOptions#excludedAnnotations() excluded annotations}.
+     */
+    int excludedByAnnotation() {
+        return index.counts()
+                    .get(Exclusion.BY_ANNOTATION);
+    }
+
+    /**
+     * Obtains the number of program elements excluded because they belong to
+     * an excluded package.
+     */
+    int excludedByPackage() {
+        return index.counts()
+                    .get(Exclusion.BY_PACKAGE);
     }
 }
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.sun.javadoc.DocErrorReporter;
+import com.sun.javadoc.RootDoc;
+import com.sun.tools.doclets.standard.Standard;
+import io.spine.annotation.Internal;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The options of the {@link ExcludeInternal} doclet.
+ *
+ * <p>These options are supported in addition to the options of the
+ * {@linkplain Standard standard doclet}.
+ */
+final class FilterOptions {
+
+    /**
+     * Makes the doclet wrap the documentation elements into
+     * the {@linkplain Delegate generated delegates} instead of reflective proxies.
+     */
+    static final String DELEGATES = "-delegates";
+
+    /**
+     * Adds annotations to exclude the annotated elements by.
+     *
+     * <p>Takes the qualified names of the annotation types separated by commas.
+     * The option may be repeated.
+     */
+    static final String EXCLUDE_ANNOTATION = "-excludeannotation";
+
+    /**
+     * Adds glob patterns of the names of the packages to exclude.
+     *
+     * <p>Takes the patterns separated by commas. The option may be repeated.
+     *
+     * @see PackagePatterns
+     */
+    static final String EXCLUDE_PACKAGE = "-excludepackage";
+
+    /**
+     * Adds a regular expression of the names of the packages to exclude.
+     *
+     * <p>Takes one expression. The option may be repeated.
+     *
+     * @see PackagePatterns
+     */
+    static final String EXCLUDE_PACKAGE_REGEX = "-excludepackageregex";
+
+    /**
+     * Makes the doclet replace the excluded types in the signatures of the documented
+     * elements with their {@linkplain VisibleTypes nearest visible supertypes}.
+     */
+    static final String HIDE_EXCLUDED_TYPES = "-hideexcludedtypes";
+
+    /**
+     * Makes the doclet write the {@linkplain FilterStats statistics} of the run as JSON
+     * to the file passed as the argument of the option.
+     */
+    static final String FILTER_STATS = "-filterstats";
+
+    /**
+     * Makes the doclet write the {@linkplain ExclusionManifest manifest} of the excluded
+     * elements to the file passed as the argument of the option.
+     *
+     * <p>If the file contains a manifest derived from the same inputs, the exclusions are
+     * read from it instead.
+     */
+    static final String EXCLUSION_MANIFEST = "-exclusionmanifest";
+
+    /**
+     * Makes the doclet {@linkplain DryRun report} the excluded elements and the public
+     * signatures referring to them, instead of generating the documentation.
+     */
+    static final String DRY_RUN = "-dryrun";
+
+    /**
+     * Adds a module to generate the documentation for separately in an aggregate run.
+     *
+     * <p>Takes the name of the module and its source directories, separated by
+     * the {@linkplain File#pathSeparator path separator}. The documentation of the module
+     * is written to the subdirectory of the destination directory named after the module.
+     * The option may be repeated.
+     *
+     * @see ModuleScope
+     */
+    static final String MODULE = "-module";
+
+    /**
+     * The number of command-line arguments taken by each option, including the option itself.
+     */
+    private static final ImmutableMap<String, Integer> lengths =
+            ImmutableMap.<String, Integer>builder()
+                        .put(DELEGATES, 1)
+                        .put(EXCLUDE_ANNOTATION, 2)
+                        .put(EXCLUDE_PACKAGE, 2)
+                        .put(EXCLUDE_PACKAGE_REGEX, 2)
+                        .put(HIDE_EXCLUDED_TYPES, 1)
+                        .put(FILTER_STATS, 2)
+                        .put(EXCLUSION_MANIFEST, 2)
+                        .put(DRY_RUN, 1)
+                        .put(MODULE, 3)
+                        .build();
+
+    private static final Splitter commaSeparated = Splitter.on(',')
+                                                           .trimResults()
+                                                           .omitEmptyStrings();
+
+    private static final Splitter pathSeparated = Splitter.on(File.pathSeparatorChar)
+                                                          .trimResults()
+                                                          .omitEmptyStrings();
+
+    private final boolean delegates;
+    private final boolean dryRun;
+    private final boolean hidesExcludedTypes;
+    private final ImmutableSet<String> excludedAnnotations;
+    private final ImmutableList<String> excludedPackageGlobs;
+    private final ImmutableList<String> excludedPackageRegexes;
+    private final @Nullable Path statsFile;
+    private final @Nullable Path manifestFile;
+    private final ImmutableMap<String, ImmutableList<Path>> modules;
+
+    private FilterOptions(String[][] options) {
+        this.delegates = isSet(options, DELEGATES);
+        this.dryRun = isSet(options, DRY_RUN);
+        this.hidesExcludedTypes = isSet(options, HIDE_EXCLUDED_TYPES);
+        this.excludedAnnotations = excludedAnnotations(options);
+        this.excludedPackageGlobs = valuesOf(options, EXCLUDE_PACKAGE, commaSeparated);
+        this.excludedPackageRegexes = valuesOf(options, EXCLUDE_PACKAGE_REGEX, null);
+        String statsFile = valueOf(options, FILTER_STATS);
+        this.statsFile = statsFile == null ? null : Paths.get(statsFile);
+        String manifestFile = valueOf(options, EXCLUSION_MANIFEST);
+        this.manifestFile = manifestFile == null ? null : Paths.get(manifestFile);
+        this.modules = modules(options);
+    }
+
+    /**
+     * Obtains the options passed to the Javadoc tool for the passed documentation root.
+     */
+    static FilterOptions from(RootDoc root) {
+        return new FilterOptions(root.options());
+    }
+
+    /**
+     * Obtains the options from the passed command-line options of the Javadoc tool.
+     */
+    static FilterOptions of(String[][] options) {
+        return new FilterOptions(options);
+    }
+
+    /**
+     * Obtains the options used when nothing is specified.
+     */
+    static FilterOptions defaults() {
+        return new FilterOptions(new String[0][]);
+    }
+
+    /**
+     * Obtains the number of command-line arguments taken by the passed option.
+     *
+     * @return the number of arguments including the option itself,
+     *         or zero if the option is not known to this doclet
+     */
+    static int lengthOf(String option) {
+        Integer result = lengths.get(normalize(option));
+        return result == null ? 0 : result;
+    }
+
+    /**
+     * Checks the options, reporting the invalid ones as errors.
+     *
+     * @return {@code true} if the options are valid, {@code false} otherwise
+     */
+    boolean validate(DocErrorReporter reporter) {
+        try {
+            excludedPackagePatterns();
+            return true;
+        } catch (PatternSyntaxException e) {
+            reporter.printError(String.format(
+                    "Invalid `%s` expression: %s", EXCLUDE_PACKAGE_REGEX, e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * Tells if the documentation elements should be wrapped into
+     * the {@linkplain Delegate generated delegates}.
+     */
+    boolean delegates() {
+        return delegates;
+    }
+
+    /**
+     * Tells if the doclet should only {@linkplain DryRun report} the exclusions instead of
+     * generating the documentation.
+     */
+    boolean dryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Tells if the excluded types in the signatures of the documented elements should be
+     * replaced with their {@linkplain VisibleTypes nearest visible supertypes}.
+     */
+    boolean hidesExcludedTypes() {
+        return hidesExcludedTypes;
+    }
+
+    /**
+     * Obtains the qualified names of the annotations, the elements annotated with which
+     * should be excluded.
+     *
+     * <p>{@link Internal} is always excluded. Other annotations are added with
+     * the {@code -excludeannotation} option.
+     */
+    ImmutableSet<String> excludedAnnotations() {
+        return excludedAnnotations;
+    }
+
+    private static ImmutableSet<String> excludedAnnotations(String[][] options) {
+        return ImmutableSet.<String>builder()
+                           .add(Internal.class.getName())
+                           .addAll(valuesOf(options, EXCLUDE_ANNOTATION, commaSeparated))
+                           .build();
+    }
+
+    /**
+     * Obtains the glob patterns of the names of the packages to exclude, passed with
+     * the {@code -excludepackage} option.
+     */
+    ImmutableList<String> excludedPackageGlobs() {
+        return excludedPackageGlobs;
+    }
+
+    /**
+     * Obtains the regular expressions of the names of the packages to exclude, passed with
+     * the {@code -excludepackageregex} option.
+     */
+    ImmutableList<String> excludedPackageRegexes() {
+        return excludedPackageRegexes;
+    }
+
+    /**
+     * Compiles the patterns of the names of the packages to exclude.
+     *
+     * @throws java.util.regex.PatternSyntaxException
+     *         if one of the regular expressions is invalid
+     */
+    PackagePatterns excludedPackagePatterns() {
+        return PackagePatterns.of(excludedPackageGlobs, excludedPackageRegexes);
+    }
+
+    /**
+     * Obtains the arguments of all the occurrences of the passed option.
+     *
+     * @param splitter
+     *         splits each argument into several values, or {@code null} if each argument
+     *         is a single value
+     */
+    private static ImmutableList<String>
+    valuesOf(String[][] options, String name, @Nullable Splitter splitter) {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        for (String[] option : options) {
+            if (normalize(option[0]).equals(name)) {
+                if (splitter == null) {
+                    result.add(option[1]);
+                } else {
+                    result.addAll(splitter.split(option[1]));
+                }
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the file to write the {@linkplain FilterStats statistics} of the run to.
+     *
+     * @return the file, or {@code Optional.empty()} if the statistics should not be written
+     */
+    Optional<Path> statsFile() {
+        return Optional.ofNullable(statsFile);
+    }
+
+    /**
+     * Obtains the file to read and write the {@linkplain ExclusionManifest manifest} of
+     * the excluded elements.
+     *
+     * @return the file, or {@code Optional.empty()} if the manifest is not used
+     */
+    Optional<Path> manifestFile() {
+        return Optional.ofNullable(manifestFile);
+    }
+
+    /**
+     * Obtains the source directories of the modules to generate the documentation for
+     * separately, by the name of the module.
+     *
+     * <p>The directories of a module passed several times are joined.
+     *
+     * @return the modules in the order they are passed,
+     *         or an empty map if the documentation is generated for the whole root
+     * @see ModuleScope
+     */
+    ImmutableMap<String, ImmutableList<Path>> modules() {
+        return modules;
+    }
+
+    private static ImmutableMap<String, ImmutableList<Path>> modules(String[][] options) {
+        Map<String, ImmutableList.Builder<Path>> modules = new LinkedHashMap<>();
+        for (String[] option : options) {
+            if (normalize(option[0]).equals(MODULE)) {
+                ImmutableList.Builder<Path> dirs =
+                        modules.computeIfAbsent(option[1], name -> ImmutableList.builder());
+                for (String dir : pathSeparated.split(option[2])) {
+                    dirs.add(Paths.get(dir));
+                }
+            }
+        }
+        ImmutableMap.Builder<String, ImmutableList<Path>> result = ImmutableMap.builder();
+        modules.forEach((name, dirs) -> result.put(name, dirs.build()));
+        return result.build();
+    }
+
+    /**
+     * Obtains the argument of the last occurrence of the passed option.
+     *
+     * @return the argument, or {@code null} if the option is not set
+     */
+    private static @Nullable String valueOf(String[][] options, String name) {
+        String result = null;
+        for (String[] option : options) {
+            if (normalize(option[0]).equals(name)) {
+                result = option[1];
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSet(String[][] options, String name) {
+        for (String[] option : options) {
+            if (normalize(option[0]).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Brings the option to the lower case, as options are case-insensitive for the Javadoc tool.
+     */
+    private static String normalize(String option) {
+        return option.toLowerCase(Locale.ROOT);
+    }
+}
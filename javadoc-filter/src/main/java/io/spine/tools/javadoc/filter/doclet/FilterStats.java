@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Maps.immutableEntry;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Map.Entry.comparingByKey;
+
+/**
+ * The counters and timers of a run of the {@link ExcludeInternal} doclet.
+ *
+ * <p>The statistics are written as JSON to the file passed with
+ * the {@code -filterstats} option.
+ *
+ * <p>Counting the invocations of each method costs a map lookup per invocation. So, they are
+ * counted only if the statistics are {@linkplain #enabled() enabled} by the option.
+ */
+final class FilterStats {
+
+    private final boolean enabled;
+
+    private final LongAdder proxiesCreated = new LongAdder();
+    private final LongAdder delegatesCreated = new LongAdder();
+    private final LongAdder arraysFiltered = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> invocations = new ConcurrentHashMap<>();
+
+    private volatile Duration filterConstruction = Duration.ZERO;
+    private volatile Duration standardDoclet = Duration.ZERO;
+    private volatile int excludedByAnnotation;
+    private volatile int excludedByPackage;
+
+    /**
+     * Creates new statistics.
+     *
+     * @param enabled
+     *         if {@code true}, the invocations of each method are counted
+     */
+    FilterStats(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Tells if the statistics are collected in full.
+     */
+    boolean enabled() {
+        return enabled;
+    }
+
+    void proxyCreated() {
+        proxiesCreated.increment();
+    }
+
+    void delegateCreated() {
+        delegatesCreated.increment();
+    }
+
+    void arrayFiltered() {
+        arraysFiltered.increment();
+    }
+
+    /**
+     * Counts an invocation of the passed method by a proxy, if the statistics are
+     * {@linkplain #enabled() enabled}.
+     */
+    void invoked(Method method) {
+        invoked(method.getName());
+    }
+
+    /**
+     * Counts an invocation of the method with the passed name by a proxy or a generated
+     * delegate, if the statistics are {@linkplain #enabled() enabled}.
+     */
+    void invoked(String methodName) {
+        if (enabled) {
+            invocations.computeIfAbsent(methodName, name -> new LongAdder())
+                       .increment();
+        }
+    }
+
+    void filterConstructed(Duration time) {
+        this.filterConstruction = time;
+    }
+
+    void standardDocletRan(Duration time) {
+        this.standardDoclet = time;
+    }
+
+    /**
+     * Remembers the numbers of the elements excluded by the passed filter.
+     */
+    void excludedBy(Filter filter) {
+        this.excludedByAnnotation = filter.excludedByAnnotation();
+        this.excludedByPackage = filter.excludedByPackage();
+    }
+
+    /**
+     * Obtains the number of invocations of the methods with the passed name.
+     */
+    @VisibleForTesting
+    long invocationsOf(String methodName) {
+        LongAdder counter = invocations.get(methodName);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Writes the statistics as JSON to the passed file.
+     *
+     * <p>The invocations are sorted from the most frequently invoked methods.
+     */
+    void writeTo(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, UTF_8)) {
+            out.write(toJson());
+        }
+    }
+
+    @VisibleForTesting
+    String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        appendField(json, "filterConstructionMillis", filterConstruction.toMillis());
+        appendField(json, "standardDocletMillis", standardDoclet.toMillis());
+        appendField(json, "proxiesCreated", proxiesCreated.sum());
+        appendField(json, "delegatesCreated", delegatesCreated.sum());
+        appendField(json, "arraysFiltered", arraysFiltered.sum());
+        appendField(json, "excludedByAnnotation", excludedByAnnotation);
+        appendField(json, "excludedByPackage", excludedByPackage);
+        json.append("  \"invocations\": {");
+        String separator = "\n";
+        // Method names are Java identifiers, so they need no escaping.
+        for (Map.Entry<String, Long> entry : invocationCounts()) {
+            json.append(separator)
+                .append("    \"").append(entry.getKey()).append("\": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        json.append(invocations.isEmpty() ? "}\n" : "\n  }\n")
+            .append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * Obtains the numbers of invocations by the method names, from the most invoked method.
+     */
+    private ImmutableList<Map.Entry<String, Long>> invocationCounts() {
+        Comparator<Map.Entry<String, Long>> byCount =
+                Map.Entry.<String, Long>comparingByValue()
+                         .reversed()
+                         .thenComparing(comparingByKey());
+        return invocations.entrySet()
+                          .stream()
+                          .map(e -> immutableEntry(e.getKey(), e.getValue().sum()))
+                          .sorted(byCount)
+                          .collect(toImmutableList());
+    }
+
+    private static void appendField(StringBuilder json, String name, long value) {
+        json.append("  \"").append(name).append("\": ").append(value).append(",\n");
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.tools.doclets.standard.Standard;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * The filtered arrays returned by the methods of documentation elements, such as
+ * {@code ClassDoc.methods()}, by the element and the method.
+ *
+ * <p>The {@linkplain Standard standard doclet} asks the same elements for their members many
+ * times while writing the pages, indexes and trees. The filtered arrays are remembered
+ * on the first call, so the repeated calls do not filter the members again.
+ *
+ * <p>The elements are compared by identity. Only the results of methods which take
+ * no arguments or take only primitive and string arguments are cached, so that
+ * the arguments are the values of the cache key.
+ *
+ * <p>The total length of the cached arrays is bounded. When the bound is reached,
+ * the least recently used arrays are evicted and filtered again on the next call.
+ *
+ * <p>The doclet may reorder the arrays it obtains. So, each call returns a copy of
+ * the cached array.
+ */
+final class FilteredArrays {
+
+    /**
+     * The default maximum total length of the cached arrays.
+     */
+    static final long MAX_CACHED_ELEMENTS = 1L << 20;
+
+    private final Cache<Key, Object[]> arrays;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxElements
+     *         the maximum total length of the cached arrays
+     */
+    FilteredArrays(long maxElements) {
+        this.arrays = CacheBuilder.newBuilder()
+                                  .maximumWeight(maxElements)
+                                  .weigher(FilteredArrays::weigh)
+                                  .build();
+    }
+
+    private static int weigh(Key key, Object[] array) {
+        // Count the array itself, so that empty arrays are bounded too.
+        return array.length + 1;
+    }
+
+    /**
+     * Obtains the filtered array returned by the method of the passed element.
+     *
+     * @param target
+     *         the documentation element
+     * @param method
+     *         the name of the method
+     * @param arguments
+     *         the arguments of the method, or {@code null} if the method takes no arguments
+     * @param filtered
+     *         calls the method and filters the result, if the array is not cached
+     * @return a copy of the filtered array
+     */
+    Object[] get(Object target,
+                 String method,
+                 Object @Nullable [] arguments,
+                 Callable<Object[]> filtered) {
+        Key key = new Key(target, method, arguments);
+        Object[] cached;
+        try {
+            cached = arrays.get(key, filtered);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            throwIfUnchecked(cause);
+            throw illegalStateWithCauseOf(cause);
+        }
+        return cached.length == 0 ? cached : cached.clone();
+    }
+
+    /**
+     * Obtains the number of the cached arrays.
+     */
+    long size() {
+        return arrays.size();
+    }
+
+    /**
+     * The key of a cached array.
+     *
+     * <p>Compares the documentation elements by identity.
+     */
+    @Immutable
+    private static final class Key {
+
+        @SuppressWarnings("Immutable") // Only the identity of the target is used.
+        private final Object target;
+        private final String method;
+        @SuppressWarnings("Immutable") // A copy holding only primitive wrappers and strings.
+        private final List<@Nullable Object> arguments;
+
+        private Key(Object target, String method, Object @Nullable [] arguments) {
+            this.target = target;
+            this.method = method;
+            this.arguments = arguments == null
+                             ? ImmutableList.of()
+                             : Arrays.asList(arguments.clone());
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return target == other.target
+                    && method.equals(other.method)
+                    && arguments.equals(other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(target), method, arguments);
+        }
+    }
+}
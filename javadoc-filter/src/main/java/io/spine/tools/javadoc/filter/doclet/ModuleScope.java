@@ -0,0 +1,248 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.PackageDoc;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.SourcePosition;
+import com.sun.tools.doclets.standard.Standard;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The part of the documentation root, which belongs to one module of an aggregate run.
+ *
+ * <p>In an aggregate run, the sources of several modules are passed to the Javadoc tool at once.
+ * This way, the sources shared by the modules are parsed, and the {@link Filter} is built,
+ * only once. The documentation is then generated for each module separately, into
+ * the subdirectory of the destination directory named after the module.
+ *
+ * <p>A class belongs to the module, the source directory of which contains the source file of
+ * the class. If several source directories contain the file, the innermost one is taken.
+ *
+ * <p>For the {@linkplain Standard standard doclet}, the scope makes the documentation root look
+ * as if it held only the sources of the module:
+ * <ul>
+ *     <li>the root and its packages {@linkplain MethodDispatch.Scoping#LISTING list} only
+ *     the classes and packages of the module;
+ *     <li>the classes of other modules, their members and packages are not
+ *     {@linkplain Doc#isIncluded() included}, so they are not linked to, same as
+ *     the classes of the libraries;
+ *     <li>the {@linkplain MethodDispatch.Scoping#OPTIONS destination directory} is the one of
+ *     the module.
+ * </ul>
+ */
+@Immutable
+final class ModuleScope {
+
+    /**
+     * The option of the standard doclet telling the destination directory.
+     */
+    private static final String DESTINATION = "-d";
+
+    private final String name;
+    private final ImmutableSet<String> classes;
+    private final ImmutableSet<String> packages;
+
+    private ModuleScope(String name, ImmutableSet<String> classes, ImmutableSet<String> packages) {
+        this.name = name;
+        this.classes = classes;
+        this.packages = packages;
+    }
+
+    /**
+     * Splits the classes of the passed root into the {@linkplain FilterOptions#modules()
+     * modules} passed in the options.
+     *
+     * <p>The classes which belong to none of the modules are reported as a warning,
+     * as they are not documented.
+     *
+     * @return the scopes of the modules, in the order they are passed
+     */
+    static ImmutableList<ModuleScope> allOf(RootDoc root, FilterOptions options) {
+        ImmutableMap<String, ImmutableList<Path>> modules = options.modules();
+        Map<String, ImmutableSet.Builder<String>> classes = new LinkedHashMap<>();
+        Map<String, ImmutableSet.Builder<String>> packages = new LinkedHashMap<>();
+        for (String module : modules.keySet()) {
+            classes.put(module, ImmutableSet.builder());
+            packages.put(module, ImmutableSet.builder());
+        }
+        int unassigned = 0;
+        for (ClassDoc cls : root.classes()) {
+            String module = moduleOf(cls, modules);
+            if (module == null) {
+                unassigned++;
+            } else {
+                classes.get(module)
+                       .add(cls.qualifiedName());
+                packages.get(module)
+                        .add(cls.containingPackage()
+                                .name());
+            }
+        }
+        if (unassigned > 0) {
+            root.printWarning(String.format(
+                    "%d classes do not belong to any module and are not documented.",
+                    unassigned));
+        }
+        ImmutableList.Builder<ModuleScope> result = ImmutableList.builder();
+        for (String module : modules.keySet()) {
+            result.add(new ModuleScope(module,
+                                       classes.get(module)
+                                              .build(),
+                                       packages.get(module)
+                                               .build()));
+        }
+        return result.build();
+    }
+
+    /**
+     * Finds the module with the innermost source directory containing the source file of
+     * the passed class.
+     *
+     * @return the name of the module, or {@code null} if no module contains the class
+     */
+    private static @Nullable String
+    moduleOf(ClassDoc cls, ImmutableMap<String, ImmutableList<Path>> modules) {
+        SourcePosition position = cls.position();
+        if (position == null) {
+            return null;
+        }
+        Path file = absolute(position.file()
+                                     .toPath());
+        String result = null;
+        int depth = -1;
+        for (Map.Entry<String, ImmutableList<Path>> module : modules.entrySet()) {
+            for (Path dir : module.getValue()) {
+                Path absoluteDir = absolute(dir);
+                if (file.startsWith(absoluteDir) && absoluteDir.getNameCount() > depth) {
+                    result = module.getKey();
+                    depth = absoluteDir.getNameCount();
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Path absolute(Path path) {
+        return path.toAbsolutePath()
+                   .normalize();
+    }
+
+    /**
+     * Obtains the name of the module.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Tells if the module has no classes to document.
+     */
+    boolean isEmpty() {
+        return classes.isEmpty();
+    }
+
+    /**
+     * Tells if the passed documentation element belongs to the module.
+     *
+     * <p>The elements other than packages, classes and their members, such as the root itself,
+     * belong to every module.
+     */
+    boolean contains(Doc doc) {
+        if (doc instanceof ClassDoc) {
+            return classes.contains(((ClassDoc) doc).qualifiedName());
+        }
+        if (doc instanceof ProgramElementDoc) {
+            ClassDoc cls = ((ProgramElementDoc) doc).containingClass();
+            return cls == null || contains(cls);
+        }
+        if (doc instanceof PackageDoc) {
+            return packages.contains(((PackageDoc) doc).name());
+        }
+        return true;
+    }
+
+    /**
+     * Leaves only the elements of the module among the passed ones.
+     *
+     * @return the elements of the module, or the passed array if all of them belong to it
+     */
+    <T> T[] filter(T[] elements) {
+        List<T> result = null;
+        for (int i = 0; i < elements.length; i++) {
+            T element = elements[i];
+            boolean contained = !(element instanceof Doc) || contains((Doc) element);
+            if (!contained && result == null) {
+                result = new ArrayList<>(Arrays.asList(elements)
+                                               .subList(0, i));
+            } else if (contained && result != null) {
+                result.add(element);
+            }
+        }
+        if (result == null) {
+            return elements;
+        }
+        return result.toArray(Arrays.copyOf(elements, 0));
+    }
+
+    /**
+     * Replaces the destination directory in the passed options with the subdirectory
+     * named after the module.
+     *
+     * <p>If the destination directory is not set, the subdirectory of the current directory
+     * is used, same as the standard doclet does.
+     */
+    String[][] options(String[][] options) {
+        List<String[]> result = new ArrayList<>(options.length + 1);
+        Path destination = Paths.get("");
+        for (String[] option : options) {
+            if (option[0].equalsIgnoreCase(DESTINATION)) {
+                destination = Paths.get(option[1]);
+            } else {
+                result.add(option);
+            }
+        }
+        result.add(new String[]{DESTINATION, destination.resolve(name)
+                                                        .toString()});
+        return result.toArray(new String[0][]);
+    }
+}
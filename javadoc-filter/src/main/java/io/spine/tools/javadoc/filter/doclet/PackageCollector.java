@@ -37,15 +37,17 @@ import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeSet;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * Collects {@linkplain PackageDoc}s that match the specified {@linkplain AnnotationCheck}.
  */
 @Immutable
 final class PackageCollector {
 
-    private final AnnotationCheck<?> check;
+    private final AnnotationCheck check;
 
-    PackageCollector(AnnotationCheck<?> check) {
+    PackageCollector(AnnotationCheck check) {
         this.check = check;
     }
 
@@ -82,8 +84,9 @@ final class PackageCollector {
     private Set<PackageDoc> collect(ClassDoc[] classes) {
         Set<PackageDoc> packages = packagesOf(classes);
         Set<PackageDoc> allCollected = newSortedSet(packages);
+        PackageTrie trie = trieOf(packages);
         for (ClassDoc cls : classes) {
-            if (isSubpackage(cls.containingPackage(), packages)) {
+            if (trie.covers(cls.containingPackage().name())) {
                 allCollected.add(cls.containingPackage());
             }
         }
@@ -93,8 +96,9 @@ final class PackageCollector {
     private Collection<PackageDoc> collect(PackageDoc[] packages) {
         Set<PackageDoc> basePackages = packagesOf(packages);
         Set<PackageDoc> allCollected = newSortedSet(basePackages);
+        PackageTrie trie = trieOf(basePackages);
         for (PackageDoc pckg : packages) {
-            if (isSubpackage(pckg, basePackages)) {
+            if (trie.covers(pckg.name())) {
                 allCollected.add(pckg);
             }
         }
@@ -121,14 +125,13 @@ final class PackageCollector {
         return result;
     }
 
-    private static boolean isSubpackage(PackageDoc target, Iterable<PackageDoc> packages) {
-        String targetName = target.name();
-        for (PackageDoc pckg : packages) {
-            if (targetName.startsWith(pckg.name())) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Creates a trie of the names of the passed packages.
+     */
+    static PackageTrie trieOf(Collection<PackageDoc> packages) {
+        return PackageTrie.of(packages.stream()
+                                      .map(PackageDoc::name)
+                                      .collect(toList()));
     }
 
     private static class PackageDocComparator implements Comparator<PackageDoc>, Serializable {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Package name patterns, which tell if a package should be excluded.
+ *
+ * <p>The patterns are either globs or regular expressions. In a glob, {@code *} matches
+ * any part of a single name segment, and {@code **} matches any number of segments,
+ * e.g. {@code **.grpc} matches {@code io.spine.grpc}, and {@code io.*.impl} matches
+ * {@code io.spine.impl}, but not {@code io.spine.server.impl}.
+ *
+ * <p>As with the packages annotated as {@code @Internal}, the sub-packages of a matching
+ * package are matched as well.
+ *
+ * <p>A regular expression is matched against the whole package name. So the {@code ^} and
+ * {@code $} anchors at the ends of an expression are redundant, and are dropped, so that
+ * the sub-packages are still matched. The anchors inside an expression are not supported.
+ *
+ * <p>All the patterns are compiled into one regular expression, so a package name is
+ * checked by a single match, regardless of the number of the patterns. The results of
+ * the checks are remembered by the package name.
+ */
+final class PackagePatterns {
+
+    private static final PackagePatterns NONE = new PackagePatterns(null);
+
+    private final @Nullable Pattern combined;
+
+    /**
+     * Tells if a package matches the patterns, by the package name.
+     */
+    private final ConcurrentMap<String, Boolean> matches = new ConcurrentHashMap<>();
+
+    private PackagePatterns(@Nullable Pattern combined) {
+        this.combined = combined;
+    }
+
+    /**
+     * Compiles the passed patterns.
+     *
+     * @param globs
+     *         the glob patterns of the package names
+     * @param regexes
+     *         the regular expressions of the package names
+     * @return the compiled patterns
+     * @throws PatternSyntaxException
+     *         if one of the regular expressions is invalid
+     */
+    static PackagePatterns of(Iterable<String> globs, Iterable<String> regexes) {
+        ImmutableList.Builder<String> alternatives = ImmutableList.builder();
+        for (String glob : globs) {
+            alternatives.add(regexOf(glob));
+        }
+        for (String regex : regexes) {
+            // Compile separately to report the invalid expression itself.
+            Pattern.compile(regex);
+            alternatives.add(withoutAnchors(regex));
+        }
+        ImmutableList<String> all = alternatives.build();
+        if (all.isEmpty()) {
+            return NONE;
+        }
+        String combined = all.stream()
+                             .collect(joining(")|(?:", "(?:(?:", "))(?:\\..*)?"));
+        return new PackagePatterns(Pattern.compile(combined));
+    }
+
+    /**
+     * Converts the passed glob pattern of package names into a regular expression.
+     */
+    @VisibleForTesting
+    static String regexOf(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() * 2);
+        int length = glob.length();
+        for (int i = 0; i < length; i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                boolean anySegments = i + 1 < length && glob.charAt(i + 1) == '*';
+                if (anySegments) {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^.]*");
+                }
+            } else if (c == '.') {
+                regex.append("\\.");
+            } else if (isPlain(c)) {
+                regex.append(c);
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Tells if the passed character stands for itself in a regular expression.
+     */
+    private static boolean isPlain(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '_';
+    }
+
+    /**
+     * Drops the {@code ^} anchor at the start and the {@code $} anchor at the end
+     * of the passed regular expression.
+     */
+    @VisibleForTesting
+    static String withoutAnchors(String regex) {
+        int start = regex.startsWith("^") ? 1 : 0;
+        int end = regex.length();
+        if (end > start && regex.charAt(end - 1) == '$' && !isEscaped(regex, end - 1)) {
+            end--;
+        }
+        return regex.substring(start, end);
+    }
+
+    /**
+     * Tells if the character at the passed index is preceded by an odd number of backslashes.
+     */
+    private static boolean isEscaped(String regex, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Tells if the package with the passed name, or one of its enclosing packages,
+     * matches any of the patterns.
+     */
+    boolean matches(String packageName) {
+        if (combined == null) {
+            return false;
+        }
+        Boolean result = matches.get(packageName);
+        if (result == null) {
+            result = combined.matcher(packageName)
+                             .matches();
+            matches.putIfAbsent(packageName, result);
+        }
+        return result;
+    }
+
+    /**
+     * Tells if there are no patterns.
+     */
+    boolean isEmpty() {
+        return combined == null;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.Immutable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of package names, which tells if a package is one of them or is a sub-package of one.
+ *
+ * <p>The names are stored as a tree of their dot-separated segments. So, the lookup takes time
+ * proportional to the number of segments in the tested name, regardless of how many packages
+ * are stored. Only whole segments are matched, e.g. {@code a.internal} covers
+ * {@code a.internal.b}, but not {@code a.internalx}.
+ *
+ * <p>The trie is immutable, and so is safe for concurrent lookups.
+ */
+@Immutable
+final class PackageTrie {
+
+    private static final Splitter segments = Splitter.on('.');
+
+    private final Node root;
+
+    private PackageTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a new trie with the passed package names.
+     */
+    static PackageTrie of(Iterable<String> packageNames) {
+        NodeBuilder root = new NodeBuilder();
+        for (String name : packageNames) {
+            root.add(name);
+        }
+        return new PackageTrie(root.build());
+    }
+
+    /**
+     * Tells if the package with the passed name is one of the stored packages,
+     * or is a sub-package of one of them.
+     */
+    boolean covers(String packageName) {
+        Node node = root;
+        for (String segment : segments.split(packageName)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells if the trie has no packages.
+     */
+    boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    /**
+     * A segment of a package name.
+     */
+    @Immutable
+    private static final class Node {
+
+        private final ImmutableMap<String, Node> children;
+
+        /** Tells if the segment ends a stored package name. */
+        private final boolean terminal;
+
+        private Node(ImmutableMap<String, Node> children, boolean terminal) {
+            this.children = children;
+            this.terminal = terminal;
+        }
+    }
+
+    /**
+     * A segment of a package name, to which the following segments are still being added.
+     */
+    private static final class NodeBuilder {
+
+        private final Map<String, NodeBuilder> children = new HashMap<>();
+        private boolean terminal;
+
+        private void add(String packageName) {
+            NodeBuilder node = this;
+            for (String segment : segments.split(packageName)) {
+                node = node.children.computeIfAbsent(segment, s -> new NodeBuilder());
+            }
+            node.terminal = true;
+        }
+
+        private Node build() {
+            ImmutableMap.Builder<String, Node> built =
+                    ImmutableMap.builderWithExpectedSize(children.size());
+            children.forEach((segment, child) -> built.put(segment, child.build()));
+            return new Node(built.build(), terminal);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Replaces the excluded types in the signatures of the documented elements with their nearest
+ * visible supertypes.
+ *
+ * <p>Only the types returned by the {@linkplain MethodDispatch#rewritesTypes() methods} telling
+ * the supertypes of a class and the return type of a method are replaced. An excluded superclass
+ * is replaced both as a {@code Type} and as a {@code ClassDoc}, so that the standard doclet draws
+ * the same class hierarchy, whichever of the two it reads. For example, if a public method returns
+ * an {@code @Internal} class, the method is documented as returning the superclass of that class.
+ * An excluded interface among the interfaces of a class is replaced with its visible
+ * super-interfaces.
+ *
+ * <p>The type arguments of a replaced type are not carried over to the replacement.
+ *
+ * <p>The supertypes of the excluded classes of the documentation root are computed once,
+ * before the documentation is generated. The supertypes of other excluded classes,
+ * e.g. coming from libraries, are computed on the first lookup.
+ */
+final class VisibleTypes {
+
+    private final Filter filter;
+
+    /**
+     * The type of {@code java.lang.Object}, which replaces the excluded interfaces with no
+     * visible super-interfaces, or {@code null} if it is not known to the Javadoc tool.
+     */
+    private final @Nullable Type object;
+
+    /**
+     * The visible supertypes of the excluded classes, by the class.
+     */
+    private final ConcurrentMap<ClassDoc, Supertypes> supertypes = new ConcurrentHashMap<>();
+
+    private VisibleTypes(Filter filter, @Nullable Type object) {
+        this.filter = filter;
+        this.object = object;
+    }
+
+    /**
+     * Creates the visible types for the excluded classes of the passed root.
+     */
+    static VisibleTypes of(RootDoc root, Filter filter) {
+        VisibleTypes result = new VisibleTypes(filter, root.classNamed(Object.class.getName()));
+        for (ProgramElementDoc element : filter.excluded()
+                                               .keySet()) {
+            if (element instanceof ClassDoc) {
+                result.supertypesOf((ClassDoc) element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the nearest visible supertype of the passed type, if the type is excluded.
+     *
+     * @return the supertype, or the passed type if it is not excluded
+     */
+    @Nullable Type visible(@Nullable Type type) {
+        Supertypes hidden = lookUp(type);
+        if (hidden == null || hidden.nearest == null) {
+            return type;
+        }
+        return hidden.nearest;
+    }
+
+    /**
+     * Obtains the nearest visible superclass of the passed class, if the class is excluded.
+     *
+     * @return the superclass, or the passed class if it is not excluded
+     */
+    @Nullable ClassDoc visible(@Nullable ClassDoc cls) {
+        Type type = visible((Type) cls);
+        if (type == null || type == cls) {
+            return cls;
+        }
+        ClassDoc result = type.asClassDoc();
+        return result == null ? cls : result;
+    }
+
+    /**
+     * Replaces the excluded types among the passed ones with their visible supertypes.
+     *
+     * @return the types with the replacements, or the passed array if no type is excluded
+     */
+    Type[] visible(Type[] types) {
+        List<Type> result = null;
+        for (int i = 0; i < types.length; i++) {
+            Supertypes hidden = lookUp(types[i]);
+            if (hidden != null && result == null) {
+                result = new ArrayList<>(Arrays.asList(types)
+                                               .subList(0, i));
+            }
+            if (hidden != null) {
+                for (Type replacement : hidden.interfaces) {
+                    addAbsent(result, replacement);
+                }
+            } else if (result != null) {
+                addAbsent(result, types[i]);
+            }
+        }
+        return result == null
+               ? types
+               : result.toArray(new Type[0]);
+    }
+
+    private static void addAbsent(List<Type> types, Type type) {
+        for (Type present : types) {
+            if (present.qualifiedTypeName()
+                       .equals(type.qualifiedTypeName())) {
+                return;
+            }
+        }
+        types.add(type);
+    }
+
+    /**
+     * Obtains the visible supertypes of the passed type, if it is excluded.
+     *
+     * @return the supertypes, or {@code null} if the type is not excluded
+     */
+    private @Nullable Supertypes lookUp(@Nullable Type type) {
+        if (type == null || type.isPrimitive()) {
+            return null;
+        }
+        ClassDoc cls = type.asClassDoc();
+        if (cls == null) {
+            return null;
+        }
+        Supertypes known = supertypes.get(cls);
+        if (known != null) {
+            return known;
+        }
+        if (!filter.test(cls)) {
+            return null;
+        }
+        return supertypesOf(cls);
+    }
+
+    private Supertypes supertypesOf(ClassDoc hidden) {
+        Supertypes known = supertypes.get(hidden);
+        if (known != null) {
+            return known;
+        }
+        Supertypes computed = compute(hidden);
+        Supertypes raced = supertypes.putIfAbsent(hidden, computed);
+        return raced != null ? raced : computed;
+    }
+
+    private Supertypes compute(ClassDoc hidden) {
+        if (hidden.isInterface()) {
+            ImmutableList<Type> interfaces = visibleInterfacesOf(hidden);
+            Type nearest = interfaces.isEmpty() ? object : interfaces.get(0);
+            return new Supertypes(nearest, interfaces);
+        }
+        Type nearest = visibleSuperclassOf(hidden);
+        ImmutableList<Type> interfaces = nearest == null
+                                         ? ImmutableList.of()
+                                         : ImmutableList.of(nearest);
+        return new Supertypes(nearest, interfaces);
+    }
+
+    private @Nullable Type visibleSuperclassOf(ClassDoc hidden) {
+        Type type = hidden.superclassType();
+        while (type != null) {
+            ClassDoc cls = type.asClassDoc();
+            if (cls == null || !filter.test(cls)) {
+                return type;
+            }
+            type = cls.superclassType();
+        }
+        return object;
+    }
+
+    private ImmutableList<Type> visibleInterfacesOf(ClassDoc hidden) {
+        Map<String, Type> result = new LinkedHashMap<>();
+        collectVisibleInterfaces(hidden, result);
+        return ImmutableList.copyOf(result.values());
+    }
+
+    private void collectVisibleInterfaces(ClassDoc hidden, Map<String, Type> result) {
+        for (Type type : hidden.interfaceTypes()) {
+            ClassDoc cls = type.asClassDoc();
+            if (cls != null && filter.test(cls)) {
+                collectVisibleInterfaces(cls, result);
+            } else {
+                result.putIfAbsent(type.qualifiedTypeName(), type);
+            }
+        }
+    }
+
+    /**
+     * The visible supertypes of an excluded class.
+     */
+    private static final class Supertypes {
+
+        /**
+         * The type replacing the excluded one in a single type value, or {@code null}
+         * if there is no visible supertype.
+         */
+        private final @Nullable Type nearest;
+
+        /**
+         * The types replacing the excluded one in an array of types.
+         */
+        private final ImmutableList<Type> interfaces;
+
+        private Supertypes(@Nullable Type nearest, ImmutableList<Type> interfaces) {
+            this.nearest = nearest;
+            this.interfaces = interfaces;
+        }
+    }
+}
@@ -26,9 +26,11 @@
 
 package io.spine.tools.javadoc.filter.doclet;
 
+import com.google.common.collect.ImmutableList;
 import com.sun.javadoc.ClassDoc;
 import com.sun.javadoc.MethodDoc;
 import com.sun.javadoc.RootDoc;
+import com.sun.tools.javadoc.Main;
 import io.spine.testing.logging.mute.MuteLogging;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,11 +39,19 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static io.spine.tools.javadoc.filter.doclet.RootDocProxyReceiver.docletFor;
 import static io.spine.tools.javadoc.filter.doclet.RootDocProxyReceiver.rootDocFor;
 
 /**
@@ -240,6 +250,21 @@ class ExcludeInternalTest {
                 .hasLength(1);
     }
 
+    @Test
+    @DisplayName("not exclude packages sharing a name prefix with internal packages")
+    void notExcludeByNamePrefix() {
+        String[] args = createArgs()
+                .addSource(src("/internalapi/PublicApiClass.java"))
+                .addPackage(INTERNAL_PACKAGE)
+                .addPackage(TEST_SOURCES_PACKAGE + ".internalapi")
+                .build();
+
+        RootDoc rootDoc = rootDocFor(args);
+
+        assertThat(rootDoc.specifiedClasses())
+                .hasLength(1);
+    }
+
     /**
      * Tests that a class annotated as {@code io.grpc.Internal} (which is foreign
      * annotation), is not excluded from our documentation.
@@ -257,6 +282,684 @@ class ExcludeInternalTest {
                 .hasLength(1);
     }
 
+    @Test
+    @DisplayName("return the same proxy for the same documented element")
+    void sameProxy() {
+        String[] args = createArgs()
+                .addSource(src(INTERNAL_CLASS_FILENAME))
+                .addSource(src(DERIVED_FROM_INTERNAL_CLASS_FILENAME))
+                .build();
+
+        RootDoc rootDoc = rootDocFor(args);
+
+        ClassDoc classDoc = rootDoc.specifiedClasses()[0];
+        assertThat(rootDoc.specifiedClasses()[0])
+                .isSameInstanceAs(classDoc);
+        assertThat(classDoc.superclass())
+                .isSameInstanceAs(classDoc.superclass());
+    }
+
+    @Test
+    @DisplayName("return a new copy of a filtered array on each call")
+    void copyFilteredArrays() {
+        String[] args = createArgs()
+                .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                .addSource(src("OverridesInternalMethod.java"))
+                .build();
+
+        RootDoc rootDoc = rootDocFor(args);
+
+        ClassDoc[] classes = rootDoc.classes();
+        assertThat(rootDoc.classes())
+                .isNotSameInstanceAs(classes);
+        assertThat(rootDoc.classes())
+                .asList()
+                .containsExactlyElementsIn(classes)
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("write the statistics of the run if the `-filterstats` option is set")
+    void writeStats(@TempDir Path tempDir) throws IOException {
+        Path statsFile = tempDir.resolve("stats.json");
+        String[] args = createArgs()
+                .addOption(FilterOptions.FILTER_STATS, statsFile.toString())
+                .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                .build();
+
+        ExcludeInternal.main(args);
+
+        String stats = new String(Files.readAllBytes(statsFile), UTF_8);
+        assertThat(stats)
+                .contains("\"excludedByAnnotation\": 1,");
+        assertThat(stats)
+                .contains("\"methods\": ");
+    }
+
+    @Test
+    @DisplayName("count the members of internal packages as excluded by package")
+    void countExcludedByPackage(@TempDir Path tempDir) throws IOException {
+        Path statsFile = tempDir.resolve("stats.json");
+        String[] args = createArgs()
+                .addOption(FilterOptions.FILTER_STATS, statsFile.toString())
+                .addSource(src("/internal/subinternal/SubInternalPackageClass.java"))
+                .addPackage(INTERNAL_PACKAGE)
+                .build();
+
+        ExcludeInternal.main(args);
+
+        // The class and its default constructor.
+        String stats = new String(Files.readAllBytes(statsFile), UTF_8);
+        assertThat(stats)
+                .contains("\"excludedByPackage\": 2,");
+    }
+
+    @Nested
+    @DisplayName("when modules are set")
+    class WithModules {
+
+        private int generate() {
+            Path sources = sourcePath.resolve(TEST_SOURCES_PACKAGE);
+            String[] args = createArgs()
+                    .addOption(FilterOptions.MODULE, "main", sources.toString())
+                    .addOption(FilterOptions.MODULE, "extra",
+                               sources.resolve("notinternal")
+                                      .toString())
+                    .addSource(src(INTERNAL_CLASS_FILENAME))
+                    .addSource(src(DERIVED_FROM_INTERNAL_CLASS_FILENAME))
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .build();
+            String name = ExcludeInternal.class.getName();
+            return Main.execute(name, name, args);
+        }
+
+        private boolean generated(String module, String file) {
+            return Files.exists(destination.resolve(module)
+                                           .resolve(file));
+        }
+
+        @Test
+        @DisplayName("generate the documentation of each module into its own directory")
+        void generateSeparately() {
+            int exitCode = generate();
+
+            assertThat(exitCode)
+                    .isEqualTo(0);
+            assertThat(generated("main", "testsources/DerivedFromInternalClass.html"))
+                    .isTrue();
+            assertThat(generated("extra", "testsources/notinternal/NotInternalClass.html"))
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("not generate the classes of other modules")
+        void notGenerateOthers() {
+            generate();
+
+            assertThat(generated("main", "testsources/notinternal"))
+                    .isFalse();
+            assertThat(generated("extra", "testsources/DerivedFromInternalClass.html"))
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("exclude the filtered classes from every module")
+        void excludeInternal() {
+            generate();
+
+            assertThat(generated("main", "testsources/InternalClass.html"))
+                    .isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("when package patterns are set")
+    class WithPackagePatterns {
+
+        private JavadocArgs argsWithPackages() {
+            return createArgs()
+                    .addSource(src("/internalapi/PublicApiClass.java"))
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .addPackage(TEST_SOURCES_PACKAGE + ".internalapi")
+                    .addPackage(TEST_SOURCES_PACKAGE + ".notinternal");
+        }
+
+        @Test
+        @DisplayName("exclude packages matching a glob")
+        void glob() {
+            String[] args = argsWithPackages()
+                    .addOption(FilterOptions.EXCLUDE_PACKAGE, "**.internalapi")
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.classes())
+                    .hasLength(1);
+            assertThat(rootDoc.classes()[0].name())
+                    .isEqualTo("NotInternalClass");
+        }
+
+        @Test
+        @DisplayName("exclude packages matching a regular expression")
+        void regex() {
+            String[] args = argsWithPackages()
+                    .addOption(FilterOptions.EXCLUDE_PACKAGE_REGEX, "testsources\\.not.*")
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.classes())
+                    .hasLength(1);
+            assertThat(rootDoc.classes()[0].name())
+                    .isEqualTo("PublicApiClass");
+        }
+
+        @Test
+        @DisplayName("reject an invalid regular expression")
+        void invalidRegex() {
+            String[] args = argsWithPackages()
+                    .addOption(FilterOptions.EXCLUDE_PACKAGE_REGEX, "testsources.(")
+                    .build();
+            String name = ExcludeInternal.class.getName();
+
+            assertThat(Main.execute(name, name, args))
+                    .isNotEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-hideexcludedtypes` option is set")
+    class HidingExcludedTypes {
+
+        private RootDoc rootDoc(String... sources) {
+            JavadocArgs args = createArgs().addOption(FilterOptions.HIDE_EXCLUDED_TYPES);
+            for (String source : sources) {
+                args.addSource(src(source));
+            }
+            return rootDocFor(args.build());
+        }
+
+        @Test
+        @DisplayName("replace an excluded superclass with a visible one")
+        void superclass() {
+            RootDoc rootDoc =
+                    rootDoc(INTERNAL_CLASS_FILENAME, DERIVED_FROM_INTERNAL_CLASS_FILENAME);
+
+            ClassDoc derived = rootDoc.classNamed("testsources.DerivedFromInternalClass");
+            assertThat(derived.superclassType()
+                              .qualifiedTypeName())
+                    .isEqualTo(Object.class.getName());
+        }
+
+        @Test
+        @DisplayName("replace an excluded superclass with a visible one in the class hierarchy")
+        void superclassDoc() {
+            RootDoc rootDoc =
+                    rootDoc(INTERNAL_CLASS_FILENAME, DERIVED_FROM_INTERNAL_CLASS_FILENAME);
+
+            ClassDoc derived = rootDoc.classNamed("testsources.DerivedFromInternalClass");
+            assertThat(derived.superclass()
+                              .qualifiedName())
+                    .isEqualTo(Object.class.getName());
+        }
+
+        @Test
+        @DisplayName("replace an excluded return type with a visible supertype")
+        void returnType() {
+            RootDoc rootDoc = rootDoc(INTERNAL_CLASS_FILENAME, "ReferencesInternalClass.java");
+
+            ClassDoc cls = rootDoc.classNamed("testsources.ReferencesInternalClass");
+            MethodDoc create = Arrays.stream(cls.methods())
+                                     .filter(method -> "create".equals(method.name()))
+                                     .findFirst()
+                                     .orElseThrow(AssertionError::new);
+            assertThat(create.returnType()
+                             .qualifiedTypeName())
+                    .isEqualTo(Object.class.getName());
+        }
+
+        @Test
+        @DisplayName("replace an excluded interface with its visible super-interfaces")
+        void interfaces() {
+            RootDoc rootDoc = rootDoc("InternalCloseable.java", "ImplementsInternalInterface.java");
+
+            ClassDoc cls = rootDoc.classNamed("testsources.ImplementsInternalInterface");
+            assertThat(cls.interfaceTypes())
+                    .hasLength(1);
+            assertThat(cls.interfaceTypes()[0].qualifiedTypeName())
+                    .isEqualTo(AutoCloseable.class.getName());
+        }
+
+        @Test
+        @DisplayName("not replace types unless the option is set")
+        void notByDefault() {
+            String[] args = createArgs()
+                    .addSource(src(INTERNAL_CLASS_FILENAME))
+                    .addSource(src(DERIVED_FROM_INTERNAL_CLASS_FILENAME))
+                    .build();
+            RootDoc rootDoc = rootDocFor(args);
+
+            ClassDoc derived = rootDoc.classNamed("testsources.DerivedFromInternalClass");
+            assertThat(derived.superclassType()
+                              .qualifiedTypeName())
+                    .isEqualTo("testsources.InternalClass");
+        }
+    }
+
+    @Nested
+    @DisplayName("when read from several threads")
+    class ConcurrentAccess {
+
+        private static final int CALLS = 2_000;
+
+        private RootDoc rootDoc;
+
+        @BeforeEach
+        void createRoot() {
+            String[] args = createArgs()
+                    .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                    .addSource(src("OverridesInternalMethod.java"))
+                    .build();
+            rootDoc = rootDocFor(args);
+        }
+
+        private ClassDoc classNamed(String name) {
+            for (ClassDoc cls : rootDoc.classes()) {
+                if (cls.name()
+                       .equals(name)) {
+                    return cls;
+                }
+            }
+            throw new IllegalArgumentException(name);
+        }
+
+        @Test
+        @DisplayName("return the same proxy to all threads")
+        void sameProxy() throws InterruptedException, ExecutionException {
+            ClassDoc derived = classNamed("OverridesInternalMethod");
+            // Let the Javadoc tool compute the superclass on this thread.
+            ((ClassDoc) ExcludeHandler.unwrap(derived)).superclass();
+
+            ImmutableList<ClassDoc> superclasses =
+                    ConcurrentCalls.run(CALLS, derived::superclass);
+
+            ClassDoc expected = derived.superclass();
+            for (ClassDoc superclass : superclasses) {
+                assertThat(superclass)
+                        .isSameInstanceAs(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("filter arrays in the same way on all threads")
+        void sameArrays() throws InterruptedException, ExecutionException {
+            ClassDoc annotated = classNamed("InternalMethodClass");
+            ClassDoc derived = classNamed("OverridesInternalMethod");
+            List<String> expected = names(derived.methods());
+
+            ImmutableList<List<String>> methods = ConcurrentCalls.run(CALLS, () -> {
+                assertThat(annotated.methods())
+                        .isEmpty();
+                return names(derived.methods());
+            });
+
+            for (List<String> names : methods) {
+                assertThat(names)
+                        .containsExactlyElementsIn(expected)
+                        .inOrder();
+            }
+        }
+
+        private List<String> names(MethodDoc[] methods) {
+            return Arrays.stream(methods)
+                         .map(MethodDoc::name)
+                         .collect(toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-dryrun` option is set")
+    class DryRunning {
+
+        private int dryRun(String... sources) {
+            return dryRun(createArgs(), sources);
+        }
+
+        private int dryRun(JavadocArgs args, String... sources) {
+            args.addOption(FilterOptions.DRY_RUN);
+            for (String source : sources) {
+                args.addSource(src(source));
+            }
+            String name = ExcludeInternal.class.getName();
+            return Main.execute(name, name, args.build());
+        }
+
+        @Test
+        @DisplayName("not generate the documentation")
+        void notGenerate() {
+            int exitCode = dryRun(NOT_INTERNAL_CLASS_FILENAME);
+
+            assertThat(exitCode)
+                    .isEqualTo(0);
+            assertThat(Files.exists(destination))
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("fail if a public signature refers to an excluded class")
+        void failOnLeaks() {
+            int exitCode = dryRun(INTERNAL_CLASS_FILENAME, "ReferencesInternalClass.java");
+
+            assertThat(exitCode)
+                    .isNotEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("fail if a class extends an excluded class")
+        void failOnExtending() {
+            int exitCode = dryRun(INTERNAL_CLASS_FILENAME, DERIVED_FROM_INTERNAL_CLASS_FILENAME);
+
+            assertThat(exitCode)
+                    .isNotEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("pass if an excluded superclass is hidden by the doclet")
+        void passWithHiddenSuperclass() {
+            JavadocArgs args = createArgs().addOption(FilterOptions.HIDE_EXCLUDED_TYPES);
+            int exitCode = dryRun(args, INTERNAL_CLASS_FILENAME,
+                                  DERIVED_FROM_INTERNAL_CLASS_FILENAME);
+
+            assertThat(exitCode)
+                    .isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("pass if excluded elements are not referred to")
+        void passWithoutLeaks() {
+            int exitCode = dryRun(INTERNAL_CLASS_FILENAME, INTERNAL_METHOD_CLASS_FILENAME);
+
+            assertThat(exitCode)
+                    .isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-exclusionmanifest` option is set")
+    class WithManifest {
+
+        @Test
+        @DisplayName("write the manifest of the excluded elements")
+        void write(@TempDir Path tempDir) throws IOException {
+            Path manifestFile = tempDir.resolve("exclusions.txt");
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUSION_MANIFEST, manifestFile.toString())
+                    .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                    .build();
+
+            ExcludeInternal.main(args);
+
+            assertThat(Files.readAllLines(manifestFile, UTF_8))
+                    .contains("by-annotation testsources.InternalMethodClass#foo()");
+        }
+
+        @Test
+        @DisplayName("exclude the elements listed in the manifest for the same inputs")
+        void reuse(@TempDir Path tempDir) throws IOException {
+            Path manifestFile = tempDir.resolve("exclusions.txt");
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUSION_MANIFEST, manifestFile.toString())
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .build();
+            ExcludeInternal.main(args);
+            List<String> written = Files.readAllLines(manifestFile, UTF_8);
+            String inputs = written.stream()
+                                   .filter(line -> line.startsWith("inputs "))
+                                   .findFirst()
+                                   .orElseThrow(IllegalStateException::new);
+            Files.write(manifestFile,
+                        ImmutableList.of(inputs,
+                                         "by-annotation testsources.notinternal.NotInternalClass"),
+                        UTF_8);
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.classes())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("tell apart the package patterns with the same concatenation")
+        void patternBoundaries(@TempDir Path tempDir) throws IOException {
+            Path manifestFile = tempDir.resolve("exclusions.txt");
+
+            String first = inputsWith(manifestFile, "ab,c");
+            String second = inputsWith(manifestFile, "a,bc");
+
+            assertThat(first)
+                    .isNotEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("tell a modified source by its modification time")
+        void modifiedSource(@TempDir Path tempDir) throws IOException {
+            Path manifestFile = tempDir.resolve("exclusions.txt");
+            Path source = sourcePath.resolve(src(NOT_INTERNAL_CLASS_FILENAME));
+            FileTime modified = Files.getLastModifiedTime(source);
+            String before = inputsWith(manifestFile, "none");
+            try {
+                Files.setLastModifiedTime(source, FileTime.fromMillis(modified.toMillis() + 2_000));
+                String after = inputsWith(manifestFile, "none");
+
+                assertThat(after)
+                        .isNotEqualTo(before);
+            } finally {
+                Files.setLastModifiedTime(source, modified);
+            }
+        }
+
+        @Test
+        @DisplayName("ignore the manifest derived from other inputs")
+        void otherInputs(@TempDir Path tempDir) throws IOException {
+            Path manifestFile = tempDir.resolve("exclusions.txt");
+            Files.write(manifestFile,
+                        ImmutableList.of("inputs sha256:0123",
+                                         "by-annotation testsources.notinternal.NotInternalClass"),
+                        UTF_8);
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUSION_MANIFEST, manifestFile.toString())
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.classes())
+                    .hasLength(1);
+        }
+
+        /**
+         * Runs the doclet with the passed package globs, and obtains the inputs line of
+         * the written manifest.
+         */
+        private String inputsWith(Path manifestFile, String packageGlobs) throws IOException {
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUSION_MANIFEST, manifestFile.toString())
+                    .addOption(FilterOptions.EXCLUDE_PACKAGE, packageGlobs)
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .build();
+            Files.deleteIfExists(manifestFile);
+            ExcludeInternal.main(args);
+            return Files.readAllLines(manifestFile, UTF_8)
+                        .stream()
+                        .filter(line -> line.startsWith("inputs "))
+                        .findFirst()
+                        .orElseThrow(IllegalStateException::new);
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-excludeannotation` option is set")
+    class WithExcludedAnnotations {
+
+        @Test
+        @DisplayName("exclude elements with the specified annotation")
+        void specifiedAnnotation() {
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUDE_ANNOTATION, "io.grpc.Internal")
+                    .addSource(src("GrpcInternalAnnotatedClass.java"))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.specifiedClasses())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("exclude elements with any of the listed annotations")
+        void listedAnnotations() {
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUDE_ANNOTATION,
+                               "io.grpc.Internal, io.spine.annotation.Experimental")
+                    .addSource(src("GrpcInternalAnnotatedClass.java"))
+                    .addSource(src("ExperimentalClass.java"))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.specifiedClasses())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("still exclude `@Internal` elements")
+        void internal() {
+            String[] args = createArgs()
+                    .addOption(FilterOptions.EXCLUDE_ANNOTATION, "io.grpc.Internal")
+                    .addSource(src(INTERNAL_CLASS_FILENAME))
+                    .addSource(src("ExperimentalClass.java"))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc.specifiedClasses())
+                    .hasLength(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("when creating an array")
+    class CreatingArray {
+
+        private final ExcludeInternal doclet =
+                docletFor(createArgs().addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                                      .build());
+
+        @Test
+        @DisplayName("return the passed array if no entry is excluded or wrapped")
+        void sameArray() {
+            String[] array = {"a", "b"};
+
+            assertThat(doclet.createArray(array, String.class))
+                    .isSameInstanceAs(array);
+        }
+
+        @Test
+        @DisplayName("return the passed empty array")
+        void emptyArray() {
+            ClassDoc[] array = {};
+
+            assertThat(doclet.createArray(array, ClassDoc.class))
+                    .isSameInstanceAs(array);
+        }
+
+        @Test
+        @DisplayName("copy the array of another component type")
+        void anotherComponentType() {
+            Object[] array = {"a", "b"};
+
+            Object[] result = doclet.createArray(array, String.class);
+            assertThat(result)
+                    .isInstanceOf(String[].class);
+            assertThat(result)
+                    .asList()
+                    .containsExactly("a", "b")
+                    .inOrder();
+        }
+    }
+
+    @Nested
+    @DisplayName("when the `-delegates` option is set")
+    class WithDelegates {
+
+        private JavadocArgs delegatingArgs() {
+            return createArgs().addOption(FilterOptions.DELEGATES);
+        }
+
+        @Test
+        @DisplayName("wrap elements into generated delegates")
+        void wrapIntoDelegates() {
+            String[] args = delegatingArgs()
+                    .addSource(src(NOT_INTERNAL_CLASS_FILENAME))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            assertThat(rootDoc)
+                    .isInstanceOf(Delegate.class);
+            assertThat(rootDoc.specifiedClasses()[0])
+                    .isInstanceOf(Delegate.class);
+        }
+
+        @Test
+        @DisplayName("exclude internal methods")
+        void methods() {
+            String[] args = delegatingArgs()
+                    .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            ClassDoc classDoc = rootDoc.specifiedClasses()[0];
+            assertThat(classDoc.methods())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("count the invocations of the delegated methods")
+        void countInvocations(@TempDir Path tempDir) throws IOException {
+            Path statsFile = tempDir.resolve("stats.json");
+            String[] args = delegatingArgs()
+                    .addOption(FilterOptions.FILTER_STATS, statsFile.toString())
+                    .addSource(src(INTERNAL_METHOD_CLASS_FILENAME))
+                    .build();
+
+            ExcludeInternal.main(args);
+
+            String stats = new String(Files.readAllBytes(statsFile), UTF_8);
+            assertThat(stats)
+                    .doesNotContain("\"delegatesCreated\": 0,");
+            assertThat(stats)
+                    .contains("\"methods\": ");
+        }
+
+        @Test
+        @DisplayName("handle `subclassOf()` invocation")
+        void subclassOf() {
+            String[] args = delegatingArgs()
+                    .addSource(src(INTERNAL_CLASS_FILENAME))
+                    .addSource(src(DERIVED_FROM_INTERNAL_CLASS_FILENAME))
+                    .build();
+
+            RootDoc rootDoc = rootDocFor(args);
+
+            ClassDoc classDoc = rootDoc.specifiedClasses()[0];
+            ClassDoc superclass = classDoc.superclass();
+            assertThat(classDoc.subclassOf(superclass))
+                    .isTrue();
+        }
+    }
+
     @Nested
     @DisplayName("should handle")
     class Handle {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`ExclusionManifest` should")
+class ExclusionManifestTest {
+
+    private static final String INPUTS = "sha256:0123";
+
+    private static ExclusionManifest manifest() {
+        return new ExclusionManifest(
+                INPUTS,
+                ImmutableList.of("com.acme.internal"),
+                ImmutableMap.of("com.acme.Engine#start(int)", Exclusion.BY_ANNOTATION,
+                                "com.acme.internal.Helper", Exclusion.BY_PACKAGE)
+        );
+    }
+
+    @Test
+    @DisplayName("be read as written")
+    void readWritten(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("exclusions.txt");
+        manifest().writeTo(file);
+
+        Optional<ExclusionManifest> read = ExclusionManifest.readFrom(file);
+
+        assertThat(read.isPresent())
+                .isTrue();
+        ExclusionManifest manifest = read.get();
+        assertThat(manifest.inputs())
+                .isEqualTo(INPUTS);
+        assertThat(manifest.packages())
+                .containsExactly("com.acme.internal");
+        assertThat(manifest.exclusionOf("com.acme.Engine#start(int)"))
+                .isEqualTo(Exclusion.BY_ANNOTATION);
+        assertThat(manifest.exclusionOf("com.acme.internal.Helper"))
+                .isEqualTo(Exclusion.BY_PACKAGE);
+    }
+
+    @Test
+    @DisplayName("replace the previous manifest, leaving no temp files")
+    void replace(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("exclusions.txt");
+        Files.write(file, ImmutableList.of("# A stale manifest."), UTF_8);
+
+        manifest().writeTo(file);
+
+        assertThat(ExclusionManifest.readFrom(file)
+                                    .isPresent())
+                .isTrue();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.collect(toList()))
+                    .containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("tell if the members of a class are listed")
+    void listsMembers() {
+        ExclusionManifest manifest = manifest();
+
+        assertThat(manifest.listsMembersOf("com.acme.Engine"))
+                .isTrue();
+        assertThat(manifest.listsMembersOf("com.acme.internal.Helper"))
+                .isFalse();
+        assertThat(manifest.listsMembersOf("com.acme.Eng"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("write one entry per line")
+    void format(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("exclusions.txt");
+        manifest().writeTo(file);
+
+        assertThat(Files.readAllLines(file, UTF_8))
+                .containsAtLeast("inputs " + INPUTS,
+                                 "package com.acme.internal",
+                                 "by-annotation com.acme.Engine#start(int)",
+                                 "by-package com.acme.internal.Helper")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("not exclude elements which are not listed")
+    void notListed() {
+        assertThat(manifest().exclusionOf("com.acme.Engine"))
+                .isEqualTo(Exclusion.NONE);
+    }
+
+    @Test
+    @DisplayName("be absent if the file does not exist")
+    void absent(@TempDir Path tempDir) throws IOException {
+        Optional<ExclusionManifest> read =
+                ExclusionManifest.readFrom(tempDir.resolve("missing.txt"));
+
+        assertThat(read.isPresent())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("not read a file with unknown entries")
+    void malformed(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("exclusions.txt");
+        Files.write(file, ImmutableList.of("inputs " + INPUTS, "hidden com.acme.Engine"), UTF_8);
+
+        assertThrows(IOException.class, () -> ExclusionManifest.readFrom(file));
+    }
+
+    @Test
+    @DisplayName("not read a file without the inputs hash")
+    void noInputs(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("exclusions.txt");
+        Files.write(file, ImmutableList.of("package com.acme.internal"), UTF_8);
+
+        assertThrows(IOException.class, () -> ExclusionManifest.readFrom(file));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.sun.javadoc.ClassDoc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`FilterStats` should")
+class FilterStatsTest {
+
+    private static Method methodOf(String name) throws NoSuchMethodException {
+        return ClassDoc.class.getMethod(name);
+    }
+
+    @Test
+    @DisplayName("count invocations by the method name when enabled")
+    void countInvocations() throws NoSuchMethodException {
+        FilterStats stats = new FilterStats(true);
+        stats.invoked(methodOf("methods"));
+        stats.invoked(methodOf("methods"));
+        stats.invoked(methodOf("name"));
+
+        assertThat(stats.invocationsOf("methods"))
+                .isEqualTo(2);
+        assertThat(stats.invocationsOf("name"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("not count invocations when disabled")
+    void disabled() throws NoSuchMethodException {
+        FilterStats stats = new FilterStats(false);
+        stats.invoked(methodOf("methods"));
+
+        assertThat(stats.invocationsOf("methods"))
+                .isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("write counters and invocations from the most frequent one as JSON")
+    void json() throws NoSuchMethodException {
+        FilterStats stats = new FilterStats(true);
+        stats.proxyCreated();
+        stats.proxyCreated();
+        stats.arrayFiltered();
+        stats.invoked(methodOf("name"));
+        stats.invoked(methodOf("methods"));
+        stats.invoked(methodOf("methods"));
+
+        String json = stats.toJson();
+        assertThat(json)
+                .contains("\"proxiesCreated\": 2,");
+        assertThat(json)
+                .contains("\"arraysFiltered\": 1,");
+        assertThat(json)
+                .contains("\"invocations\": {\n    \"methods\": 2,\n    \"name\": 1\n  }");
+        assertThat(json.trim())
+                .endsWith("}");
+    }
+
+    @Test
+    @DisplayName("write an empty object when there are no invocations")
+    void noInvocations() {
+        FilterStats stats = new FilterStats(false);
+
+        assertThat(stats.toJson())
+                .contains("\"invocations\": {}\n}");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`FilteredArrays` should")
+class FilteredArraysTest {
+
+    private static final String METHOD = "methods";
+
+    private final FilteredArrays arrays = new FilteredArrays(FilteredArrays.MAX_CACHED_ELEMENTS);
+    private final Object target = new Object();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Callable<Object[]> counting(Object... result) {
+        return () -> {
+            calls.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    @DisplayName("filter an array only once per target and method")
+    void filterOnce() {
+        arrays.get(target, METHOD, null, counting("a", "b"));
+        Object[] result = arrays.get(target, METHOD, null, counting("a", "b"));
+
+        assertThat(result)
+                .asList()
+                .containsExactly("a", "b")
+                .inOrder();
+        assertThat(calls.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("return a copy of the cached array")
+    void defensiveCopy() {
+        Object[] first = arrays.get(target, METHOD, null, counting("a", "b"));
+        first[0] = "c";
+        Object[] second = arrays.get(target, METHOD, null, counting("a", "b"));
+
+        assertThat(second)
+                .isNotSameInstanceAs(first);
+        assertThat(second)
+                .asList()
+                .containsExactly("a", "b")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("filter an array only once for concurrent requests")
+    void filterOnceConcurrently() throws InterruptedException, ExecutionException {
+        ImmutableList<Object[]> results =
+                ConcurrentCalls.run(1_000, () -> arrays.get(target, METHOD, null,
+                                                            counting("a", "b")));
+
+        for (Object[] result : results) {
+            assertThat(result)
+                    .asList()
+                    .containsExactly("a", "b")
+                    .inOrder();
+        }
+        assertThat(calls.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("distinguish methods, arguments and targets")
+    void distinguishKeys() {
+        arrays.get(target, METHOD, null, counting());
+        arrays.get(target, "fields", null, counting());
+        arrays.get(target, METHOD, new Object[]{false}, counting());
+        arrays.get(target, METHOD, new Object[]{true}, counting());
+        arrays.get(new Object(), METHOD, null, counting());
+
+        assertThat(calls.get())
+                .isEqualTo(5);
+        assertThat(arrays.size())
+                .isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("compare targets by identity")
+    void identity() {
+        arrays.get("target", METHOD, null, counting());
+        arrays.get(new String("target"), METHOD, null, counting());
+
+        assertThat(calls.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("keep the total length of the cached arrays within the bound")
+    void bounded() {
+        FilteredArrays small = new FilteredArrays(10);
+        for (int i = 0; i < 10; i++) {
+            small.get(new Object(), METHOD, null, counting("a", "b", "c", "d"));
+        }
+
+        assertThat(small.size())
+                .isAtMost(2);
+    }
+
+    @Test
+    @DisplayName("rethrow runtime exceptions of the filtering")
+    void rethrow() {
+        Callable<Object[]> failing = () -> {
+            throw new IllegalArgumentException("Cannot filter.");
+        };
+        assertThrows(IllegalArgumentException.class,
+                     () -> arrays.get(target, METHOD, null, failing));
+    }
+}
@@ -26,6 +26,7 @@
 
 package io.spine.tools.javadoc.filter.doclet;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
@@ -42,6 +43,7 @@ final class JavadocArgs {
 
     private final List<String> classes = new ArrayList<>();
     private final List<String> packages = new ArrayList<>();
+    private final List<String> options = new ArrayList<>();
 
     private Path sourcePath;
     private Path destination;
@@ -73,6 +75,12 @@ final class JavadocArgs {
         return this;
     }
 
+    @CanIgnoreReturnValue
+    JavadocArgs addOption(String... option) {
+        options.addAll(ImmutableList.copyOf(option));
+        return this;
+    }
+
     String[] build() {
         checkState(
                 sourcePath != null,
@@ -84,6 +92,7 @@ final class JavadocArgs {
         );
         addDestination();
         addSourcePath();
+        arguments.addAll(options);
         arguments.addAll(packages);
         arguments.addAll(classes);
 
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.PackageDoc;
+import com.sun.javadoc.RootDoc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`MethodDispatch` should")
+class MethodDispatchTest {
+
+    private static MethodDispatch dispatchOf(Class<?> cls, String name, Class<?>... parameters)
+            throws NoSuchMethodException {
+        Method method = cls.getMethod(name, parameters);
+        return MethodDispatch.of(method);
+    }
+
+    @Test
+    @DisplayName("unwrap the arguments of the methods casting them to the implementation")
+    void unwrapArguments() throws NoSuchMethodException {
+        assertThat(dispatchOf(MethodDoc.class, "overrides", MethodDoc.class).unwrapsArguments())
+                .isTrue();
+        assertThat(dispatchOf(ClassDoc.class, "methods", boolean.class).unwrapsArguments())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("cache only the arrays returned by methods taking primitives and strings")
+    void cacheResults() throws NoSuchMethodException {
+        assertThat(dispatchOf(ClassDoc.class, "methods", boolean.class).cachesResult())
+                .isTrue();
+        assertThat(dispatchOf(ClassDoc.class, "name").cachesResult())
+                .isFalse();
+        assertThat(MethodDispatch.cacheable(new Class<?>[0]))
+                .isTrue();
+        assertThat(MethodDispatch.cacheable(new Class<?>[]{boolean.class, String.class}))
+                .isTrue();
+        assertThat(MethodDispatch.cacheable(new Class<?>[]{Object.class}))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("rewrite the types telling the supertypes of a class")
+    void rewriteTypes() throws NoSuchMethodException {
+        assertThat(dispatchOf(ClassDoc.class, "superclass").rewritesTypes())
+                .isTrue();
+        assertThat(dispatchOf(ClassDoc.class, "interfaceTypes").rewritesTypes())
+                .isTrue();
+        assertThat(dispatchOf(ClassDoc.class, "interfaces").rewritesTypes())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("scope the elements listed by the root and the packages")
+    void scopeListings() throws NoSuchMethodException {
+        assertThat(dispatchOf(RootDoc.class, "classes").scoping())
+                .isEqualTo(MethodDispatch.Scoping.LISTING);
+        assertThat(dispatchOf(PackageDoc.class, "allClasses").scoping())
+                .isEqualTo(MethodDispatch.Scoping.LISTING);
+        assertThat(dispatchOf(ClassDoc.class, "interfaces").scoping())
+                .isEqualTo(MethodDispatch.Scoping.NONE);
+        assertThat(dispatchOf(RootDoc.class, "options").scoping())
+                .isEqualTo(MethodDispatch.Scoping.OPTIONS);
+    }
+}
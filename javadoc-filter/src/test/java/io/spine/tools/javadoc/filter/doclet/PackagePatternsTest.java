@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`PackagePatterns` should")
+class PackagePatternsTest {
+
+    private static PackagePatterns globs(String... globs) {
+        return PackagePatterns.of(ImmutableList.copyOf(globs), ImmutableList.of());
+    }
+
+    private static PackagePatterns regexes(String... regexes) {
+        return PackagePatterns.of(ImmutableList.of(), ImmutableList.copyOf(regexes));
+    }
+
+    @Test
+    @DisplayName("match a single name segment with `*`")
+    void singleSegment() {
+        PackagePatterns patterns = globs("io.*.impl");
+
+        assertThat(patterns.matches("io.spine.impl"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.server.impl"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match any number of name segments with `**`")
+    void anySegments() {
+        PackagePatterns patterns = globs("**.grpc");
+
+        assertThat(patterns.matches("io.grpc"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.server.grpc"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.grpcx"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match sub-packages of matching packages")
+    void subPackages() {
+        PackagePatterns patterns = globs("io.*.impl");
+
+        assertThat(patterns.matches("io.spine.impl.util"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.implementation"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match regular expressions")
+    void regex() {
+        PackagePatterns patterns = regexes("io\\.spine\\.(server|client)\\.given");
+
+        assertThat(patterns.matches("io.spine.server.given"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.client.given.nested"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.core.given"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match the characters of a glob other than wildcards literally")
+    void literalGlob() {
+        PackagePatterns patterns = globs("com.foo$bar");
+
+        assertThat(patterns.matches("com.foo$bar"))
+                .isTrue();
+        assertThat(patterns.matches("com.foo$bar.baz"))
+                .isTrue();
+        assertThat(patterns.matches("com.foo"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match sub-packages of regular expressions with anchors")
+    void anchoredRegex() {
+        PackagePatterns patterns = regexes("^io\\.spine\\.given$");
+
+        assertThat(patterns.matches("io.spine.given"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.given.nested"))
+                .isTrue();
+        assertThat(patterns.matches("io.spine.givens"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("keep an escaped dollar sign at the end of a regular expression")
+    void escapedDollar() {
+        assertThat(PackagePatterns.withoutAnchors("^a\\$"))
+                .isEqualTo("a\\$");
+        assertThat(PackagePatterns.withoutAnchors("a\\\\$"))
+                .isEqualTo("a\\\\");
+    }
+
+    @Test
+    @DisplayName("match any of several patterns")
+    void combined() {
+        PackagePatterns patterns = PackagePatterns.of(ImmutableList.of("**.grpc", "a.*.impl"),
+                                                      ImmutableList.of("b\\.c"));
+
+        assertThat(patterns.matches("io.grpc"))
+                .isTrue();
+        assertThat(patterns.matches("a.b.impl"))
+                .isTrue();
+        assertThat(patterns.matches("b.c"))
+                .isTrue();
+        assertThat(patterns.matches("b.d"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("match nothing if there are no patterns")
+    void empty() {
+        PackagePatterns patterns = globs();
+
+        assertThat(patterns.isEmpty())
+                .isTrue();
+        assertThat(patterns.matches("io.spine"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("reject an invalid regular expression")
+    void invalidRegex() {
+        assertThrows(PatternSyntaxException.class, () -> regexes("io.(spine"));
+    }
+}
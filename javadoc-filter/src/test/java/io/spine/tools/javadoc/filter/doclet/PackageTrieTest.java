@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.filter.doclet;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`PackageTrie` should")
+class PackageTrieTest {
+
+    private final PackageTrie trie = PackageTrie.of(ImmutableList.of("a.internal", "b.c.impl"));
+
+    @Test
+    @DisplayName("cover the stored packages")
+    void storedPackages() {
+        assertThat(trie.covers("a.internal"))
+                .isTrue();
+        assertThat(trie.covers("b.c.impl"))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("cover sub-packages of the stored packages")
+    void subpackages() {
+        assertThat(trie.covers("a.internal.b"))
+                .isTrue();
+        assertThat(trie.covers("b.c.impl.d.e"))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("not cover parent packages")
+    void parentPackages() {
+        assertThat(trie.covers("a"))
+                .isFalse();
+        assertThat(trie.covers("b.c"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("not cover packages sharing a name prefix with the stored packages")
+    void falsePrefixes() {
+        assertThat(trie.covers("a.internalx"))
+                .isFalse();
+        assertThat(trie.covers("b.c.implementation.d"))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("cover nothing when empty")
+    void empty() {
+        PackageTrie empty = PackageTrie.of(ImmutableList.of());
+
+        assertThat(empty.isEmpty())
+                .isTrue();
+        assertThat(empty.covers("a.internal"))
+                .isFalse();
+    }
+}
@@ -34,9 +34,12 @@ public final class RootDocProxyReceiver extends ExcludeInternal {
     @SuppressWarnings("StaticVariableMayNotBeInitialized") // Used only start invocation
     private static RootDoc rootDocProxy;
 
+    @SuppressWarnings("StaticVariableMayNotBeInitialized") // Used only start invocation
+    private static ExcludeInternal doclet;
+
     @SuppressWarnings("ConstantConditions") // Is not necessary
     public RootDocProxyReceiver(String[] args) {
-        super(null);
+        super(null, FilterOptions.defaults());
         main(args);
     }
 
@@ -47,8 +50,9 @@ public final class RootDocProxyReceiver extends ExcludeInternal {
 
     @SuppressWarnings("unused") // called by com.sun.tools.javadoc.Main
     public static boolean start(RootDoc root) {
-        Filter filter = new Filter(root);
-        ExcludeInternal doclet = new ExcludeInternal(filter);
+        FilterOptions options = FilterOptions.from(root);
+        Filter filter = new Filter(root, options);
+        doclet = ExcludeInternal.of(root, filter, options);
 
         // We can obtain RootDoc only here
         rootDocProxy = (RootDoc) doclet.process(root, root.getClass());
@@ -61,4 +65,13 @@ public final class RootDocProxyReceiver extends ExcludeInternal {
         main(args);
         return rootDocProxy;
     }
+
+    /**
+     * Obtains the doclet, which filters the documentation root for the passed arguments.
+     */
+    @SuppressWarnings("StaticVariableUsedBeforeInitialization") // Initialized in start method
+    static ExcludeInternal docletFor(String[] args) {
+        main(args);
+        return doclet;
+    }
 }
@@ -45,9 +45,10 @@ import static java.util.regex.Matcher.quoteReplacement;
  * lined text`
  * }</pre>
  */
-final class BacktickedToCode extends ByLineFormatting {
+final class BacktickedToCode extends ByLineFormatting implements FusibleFormatting {
 
     private static final Pattern BACKTICK = Pattern.compile("`");
+    private static final String CODE_TAG_OPENING = "{@code ";
 
     /**
      * A pattern to match a text surrounded with backticks.
@@ -81,4 +82,60 @@ final class BacktickedToCode extends ByLineFormatting {
     static String wrapWithCodeTag(String value) {
         return format("{@code %s}", value);
     }
+
+    @Override
+    public FormattingStage newStage() {
+        return new Stage();
+    }
+
+    /**
+     * Replaces the text in backticks with the same text in the {@literal @}{@code code} tag,
+     * character by character.
+     *
+     * <p>The text after an opening backtick is held until the closing one. If the line or
+     * the comment ends first, the held text is passed on as is.
+     */
+    private static final class Stage implements FormattingStage {
+
+        private final StringBuilder ticked = new StringBuilder();
+        private boolean inTicks;
+
+        @Override
+        public void reset() {
+            ticked.setLength(0);
+            inTicks = false;
+        }
+
+        @Override
+        public void accept(char c, Output next) {
+            if (!inTicks) {
+                if (c == '`') {
+                    inTicks = true;
+                } else {
+                    next.put(c);
+                }
+                return;
+            }
+            if (c == '`') {
+                next.put(CODE_TAG_OPENING);
+                next.put(ticked);
+                next.put('}');
+                reset();
+            } else if (c == '\n' || c == '\r') {
+                end(next);
+                next.put(c);
+            } else {
+                ticked.append(c);
+            }
+        }
+
+        @Override
+        public void end(Output next) {
+            if (inTicks) {
+                next.put('`');
+                next.put(ticked);
+                reset();
+            }
+        }
+    }
 }
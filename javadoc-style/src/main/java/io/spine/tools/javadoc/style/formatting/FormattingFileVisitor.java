@@ -27,19 +27,26 @@
 package io.spine.tools.javadoc.style.formatting;
 
 import io.spine.logging.Logging;
+import io.spine.tools.java.fs.FileName;
 
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * A {@code FileVisitor} for formatting files.
+ *
+ * <p>Only the Java sources are formatted and counted. The files, which disappear while
+ * the tree is walked, such as the temp files of a concurrent formatting, are skipped.
  */
 final class FormattingFileVisitor extends SimpleFileVisitor<Path> implements Logging {
 
     private final JavadocStyler formatter;
+    private int visitedFiles;
+    private int modifiedFiles;
 
     public FormattingFileVisitor(JavadocStyler formatter) {
         super();
@@ -48,15 +55,45 @@ final class FormattingFileVisitor extends SimpleFileVisitor<Path> implements Log
 
     @Override
     public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
+        if (!FileName.isJava(path)) {
+            return FileVisitResult.CONTINUE;
+        }
         _debug().log("Performing formatting for the file: `%s`.", path);
-        formatter.format(path);
+        visitedFiles++;
+        if (formatter.format(path)) {
+            modifiedFiles++;
+        }
         return FileVisitResult.CONTINUE;
     }
 
     @Override
-    public FileVisitResult visitFileFailed(Path file, IOException exc) {
-        _error().withCause(exc)
-                .log("Error walking down the file tree for file: `%s`.", file);
-        return FileVisitResult.TERMINATE;
+    public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+        if (isVanishedNonSource(file, exc)) {
+            _debug().log("Skipping the file `%s`, which no longer exists.", file);
+            return FileVisitResult.CONTINUE;
+        }
+        throw exc;
+    }
+
+    /**
+     * Tells if the visit of the passed file failed because it is not a Java source,
+     * which was deleted or moved while the tree is walked.
+     */
+    static boolean isVanishedNonSource(Path file, IOException exc) {
+        return exc instanceof NoSuchFileException && !FileName.isJava(file);
+    }
+
+    /**
+     * Obtains the number of the Java sources visited so far.
+     */
+    int visitedFiles() {
+        return visitedFiles;
+    }
+
+    /**
+     * Obtains the number of the files modified by the formatting so far.
+     */
+    int modifiedFiles() {
+        return modifiedFiles;
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+/**
+ * A stage of the {@link FusedFormatting}.
+ *
+ * <p>The stages are chained. Each stage receives the characters of a Javadoc comment one by one
+ * from the previous stage, and passes the formatted characters to the next one. The last stage
+ * passes them to the buffer shared by the pipeline. This way, the comment is traversed once,
+ * and no intermediate strings are created between the stages.
+ *
+ * <p>A stage holds the state of the comment being formatted, so it serves one comment at a time.
+ */
+interface FormattingStage {
+
+    /**
+     * Prepares the stage for a new comment.
+     */
+    void reset();
+
+    /**
+     * Accepts the next character of the comment.
+     *
+     * @param c
+     *         the character passed by the previous stage
+     * @param next
+     *         the next stage
+     */
+    void accept(char c, Output next);
+
+    /**
+     * Passes the characters held by the stage to the next stage, after the last character of
+     * the comment is {@linkplain #accept accepted}.
+     */
+    default void end(Output next) {
+        // Nothing is held by default.
+    }
+
+    /**
+     * Edits the buffer with the formatted comment, after all the stages {@linkplain #end ended}.
+     *
+     * <p>Called only if the stage {@linkplain #editsBuffer() edits the buffer}. Such a stage is
+     * the last one of the pipeline, so the position of a character passed by the stage is its
+     * position in the buffer.
+     */
+    default void complete(StringBuilder buffer) {
+        // Nothing is edited by default.
+    }
+
+    /**
+     * Tells if the stage {@linkplain #complete edits the buffer} after the comment is passed.
+     */
+    default boolean editsBuffer() {
+        return false;
+    }
+
+    /**
+     * Receives the characters passed by a stage.
+     */
+    @FunctionalInterface
+    interface Output {
+
+        /**
+         * Receives the next character.
+         */
+        void put(char c);
+
+        /**
+         * Receives the characters of the passed text.
+         */
+        default void put(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                put(text.charAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
+
+/**
+ * Performs several {@linkplain FusibleFormatting formattings} in one pass over a Javadoc comment.
+ *
+ * <p>The formattings act as {@linkplain FormattingStage stages}, which pass the characters of
+ * the comment one to another. The output of the last stage is collected into a buffer, which
+ * is reused for all the comments.
+ *
+ * <p>The result is the same as if the formattings were {@linkplain Formatting#apply applied}
+ * to the comment one after another. The formattings are {@linkplain #of fused} only in
+ * the order, for which this holds.
+ *
+ * <p>The pipeline holds the state of the comment being formatted, so it is not safe for
+ * concurrent use.
+ */
+final class FusedFormatting implements Formatting {
+
+    private final ImmutableList<FormattingStage> stages;
+
+    /**
+     * The inputs of the stages by the index of the stage, followed by the input of the buffer.
+     */
+    private final FormattingStage.Output[] inputs;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * The characters of the buffer, copied to be written without creating a string.
+     */
+    private char[] chars = new char[0];
+
+    private FusedFormatting(ImmutableList<FormattingStage> stages) {
+        this.stages = stages;
+        this.inputs = new FormattingStage.Output[stages.size() + 1];
+        inputs[stages.size()] = buffer::append;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            FormattingStage stage = stages.get(i);
+            FormattingStage.Output next = inputs[i + 1];
+            inputs[i] = c -> stage.accept(c, next);
+        }
+    }
+
+    /**
+     * Creates the pipeline of the passed formattings, if all of them are
+     * {@linkplain FusibleFormatting fusible}.
+     *
+     * <p>A stage which {@linkplain FormattingStage#editsBuffer() edits the buffer} may only be
+     * the last one, as the positions it records are the positions in the buffer only if no later
+     * stage changes the characters.
+     *
+     * @return the pipeline performing the formattings in the passed order,
+     *         or {@code Optional.empty()} if some of them cannot act as a stage
+     *         in that order
+     */
+    static Optional<FusedFormatting> of(ImmutableList<Formatting> formattings) {
+        ImmutableList.Builder<FormattingStage> stages = ImmutableList.builder();
+        for (int i = 0; i < formattings.size(); i++) {
+            Formatting formatting = formattings.get(i);
+            if (!(formatting instanceof FusibleFormatting)) {
+                return Optional.empty();
+            }
+            FormattingStage stage = ((FusibleFormatting) formatting).newStage();
+            if (stage.editsBuffer() && i < formattings.size() - 1) {
+                return Optional.empty();
+            }
+            stages.add(stage);
+        }
+        return Optional.of(new FusedFormatting(stages.build()));
+    }
+
+    @Override
+    public String apply(String text) {
+        format(text);
+        return buffer.toString();
+    }
+
+    /**
+     * Writes the result of the last {@linkplain #format formatting} to the passed writer.
+     */
+    void writeTo(Writer writer) throws IOException {
+        int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        buffer.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+
+    /**
+     * Formats the passed Javadoc comment, keeping the result in the buffer.
+     *
+     * @return {@code true} if the result differs from the passed comment,
+     *         {@code false} otherwise
+     */
+    @CanIgnoreReturnValue
+    boolean format(CharSequence javadoc) {
+        buffer.setLength(0);
+        for (FormattingStage stage : stages) {
+            stage.reset();
+        }
+        FormattingStage.Output input = inputs[0];
+        for (int i = 0; i < javadoc.length(); i++) {
+            input.put(javadoc.charAt(i));
+        }
+        for (int i = 0; i < stages.size(); i++) {
+            stages.get(i)
+                  .end(inputs[i + 1]);
+        }
+        for (FormattingStage stage : stages) {
+            if (stage.editsBuffer()) {
+                stage.complete(buffer);
+            }
+        }
+        return !contentEquals(buffer, javadoc);
+    }
+
+    private static boolean contentEquals(CharSequence first, CharSequence second) {
+        int length = first.length();
+        if (length != second.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (first.charAt(i) != second.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -29,31 +29,51 @@ package io.spine.tools.javadoc.style.formatting;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.flogger.FluentLogger;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.spine.tools.java.fs.FileName;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.newIllegalStateException;
-import static java.lang.System.lineSeparator;
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.nio.file.Files.delete;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.getFileAttributeView;
 import static java.nio.file.Files.move;
-import static java.nio.file.Files.newBufferedReader;
 import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
  * Improves the style of Javadoc code by applying the passed formatting actions.
+ *
+ * <p>The styler does not keep a state between formatting files, so it may format
+ * several files concurrently.
  */
 public final class JavadocStyler {
 
     private static final FluentLogger logger = FluentLogger.forEnclosingClass();
-    private static final String TEMP_FILE_NAME = "temp_file_for_formatting.java";
+
+    /**
+     * The suffix of the names of temp files.
+     *
+     * <p>The names of temp files do not end with {@code .java}, so they are never
+     * formatted themselves.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".formatting";
 
     /** Formatting actions to perform. */
     private final ImmutableList<Formatting> actions;
@@ -72,113 +92,198 @@ public final class JavadocStyler {
 
     /**
      * Improves the style for all Java files in the specified directory, including sub-directories.
+     *
+     * <p>The files are formatted one by one on the calling thread.
+     *
+     * <p>The files, in which no Javadoc is changed by the formatting, are left untouched.
+     *
+     * @return the number of the modified files
      */
-    public static void applyFormattingAt(Path directory) {
+    @CanIgnoreReturnValue
+    public static int applyFormattingAt(Path directory) {
+        return applyFormattingAt(directory, 1);
+    }
+
+    /**
+     * Improves the style for all Java files in the specified directory, including sub-directories,
+     * formatting several files at a time.
+     *
+     * <p>If the {@code parallelism} is {@code 1}, the files are formatted one by one on
+     * the calling thread, and the formatting stops on the first failure.
+     *
+     * <p>Otherwise, the files are formatted by a pool of the given number of threads.
+     * A failure to format a file does not stop the formatting of the other files.
+     * All the failures are reported by one {@code IllegalStateException} after
+     * the formatting is completed.
+     *
+     * <p>The files, in which no Javadoc is changed by the formatting, are left untouched.
+     *
+     * @param directory
+     *         the directory with the files to format
+     * @param parallelism
+     *         the number of the files to format at a time
+     * @return the number of the modified files
+     */
+    @CanIgnoreReturnValue
+    public static int applyFormattingAt(Path directory, int parallelism) {
         checkNotNull(directory);
+        checkArgument(parallelism > 0,
+                      "The parallelism must be positive, but was %s.", parallelism);
         if (!Files.exists(directory)) {
             logger.atWarning()
                   .log("Cannot perform formatting. The directory `%s` does not exist.", directory);
-            return;
+            return 0;
         }
         try {
             logger.atFine()
-                  .log("Starting Javadocs formatting in `%s`.", directory);
-            Files.walkFileTree(directory, new FormattingFileVisitor(newStyler()));
+                  .log("Starting Javadocs formatting in `%s` on %d threads.",
+                       directory, parallelism);
+            return parallelism == 1
+                   ? formatSequentially(directory)
+                   : formatInParallel(directory, parallelism);
         } catch (IOException e) {
             throw newIllegalStateException(e, "Failed to format the sources in `%s`.", directory);
         }
     }
 
+    private static int formatSequentially(Path directory) throws IOException {
+        FormattingFileVisitor visitor = new FormattingFileVisitor(newStyler());
+        Files.walkFileTree(directory, visitor);
+        logFormatted(visitor.modifiedFiles(), visitor.visitedFiles(), directory);
+        return visitor.modifiedFiles();
+    }
+
+    private static int formatInParallel(Path directory, int parallelism) throws IOException {
+        ParallelFormattingFileVisitor visitor =
+                new ParallelFormattingFileVisitor(newStyler(), parallelism);
+        try {
+            Files.walkFileTree(directory, visitor);
+        } finally {
+            visitor.awaitCompletion();
+        }
+        visitor.checkNoFailures();
+        logFormatted(visitor.modifiedFiles(), visitor.visitedFiles(), directory);
+        return visitor.modifiedFiles();
+    }
+
+    private static void logFormatted(int modifiedFiles, int visitedFiles, Path directory) {
+        logger.atInfo()
+              .log("Javadocs formatted in %d of %d Java files in `%s`.",
+                   modifiedFiles, visitedFiles, directory);
+    }
+
     /**
      * Formats the Javadocs in the file with the specified path.
      *
-     * <p>If the file is not a {@code .java} source, does nothing.
+     * <p>If the file is not a {@code .java} source, or the formatting changes none of its
+     * Javadocs, the file is left untouched.
      *
-     * @param file the path to the file
+     * @param file
+     *         the path to the file
+     * @return {@code true} if the file is modified, {@code false} otherwise
      */
-    void format(Path file) throws IOException {
+    @CanIgnoreReturnValue
+    boolean format(Path file) throws IOException {
         checkNotNull(file);
         if (!FileName.isJava(file)) {
-            return;
+            return false;
         }
-        Path tempFile = formatIntoTempFileFrom(file);
-        delete(file);
-        // Rename temp. file after the passed file.
-        move(tempFile, tempFile.resolveSibling(file));
-    }
-
-    /**
-     * Formats the content of the passed file, creating a temp file returned by this method.
-     */
-    private Path formatIntoTempFileFrom(Path file) throws IOException {
-        Path folder = file.getParent();
-        Path tempFile = folder.resolve(TEMP_FILE_NAME);
-        try (BufferedReader reader = newBufferedReader(file, UTF_8);
-             BufferedWriter writer = newBufferedWriter(tempFile, UTF_8)) {
-
-            @Nullable String part = readNextPart(reader);
-            while (part != null) {
-                writer.write(part);
-                writer.newLine();
-                part = readNextPart(reader);
-            }
+        Optional<Path> tempFile = formatIntoTempFileFrom(file);
+        if (!tempFile.isPresent()) {
+            return false;
         }
-        return tempFile;
+        replace(file, tempFile.get());
+        return true;
     }
 
     /**
-     * Obtains the next part, that should be written to the resulting file.
+     * Replaces the passed file with the temp file.
      *
-     * <p>If this part is a Javadoc, then the reformatted Javadoc will be returned.
+     * <p>The file is replaced by an atomic move, so that it is never missing or partially
+     * written for the readers. If the file system cannot replace the file atomically,
+     * a non-atomic move is used instead.
      *
-     * @param reader the reader for the file
-     * @return the {@code Optional} of the next part
-     *         or {@code Optional.empty()} if if the end of the stream has been reached
-     * @throws IOException if an I/O error occurred during reading
+     * <p>The temp file gets the POSIX permissions of the replaced file, if they are supported.
+     * If the replacement fails, the temp file is deleted.
      */
-    private @Nullable String readNextPart(BufferedReader reader) throws IOException {
-        String firstLine = reader.readLine();
-        if (firstLine == null) {
-            return null;
+    private static void replace(Path file, Path tempFile) throws IOException {
+        try {
+            copyPermissions(file, tempFile);
+            try {
+                move(tempFile, file, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+                logger.atFine()
+                      .withCause(e)
+                      .log("Cannot replace `%s` atomically.", file);
+                move(tempFile, file, REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile, e);
+            throw e;
         }
-        if (!isJavadocBeginning(firstLine)) {
-            return firstLine;
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView view = getFileAttributeView(source, PosixFileAttributeView.class);
+        if (view != null) {
+            Files.setPosixFilePermissions(target, view.readAttributes()
+                                                      .permissions());
         }
-        String javadoc = readJavadoc(firstLine, reader);
-        String formattedJavadoc = applyActions(javadoc);
-        return formattedJavadoc;
     }
 
     /**
-     * Reads the Javadoc block from the passed reader.
-     *
-     * @param firstLine
-     *          the first line of the Javadoc, already obtained from the reader
-     * @param reader
-     *          the reader with the continuation of the Javadoc text
-     * @return the Javadoc text
-     * @throws IOException
-     *          if the passed reader fails during the reading operations
+     * Deletes the passed file, if it exists, adding a failure to do so to the passed one.
      */
-    private static String readJavadoc(String firstLine, BufferedReader reader)
-            throws IOException {
-        StringBuilder javadoc = new StringBuilder();
-        String currentLine = firstLine;
-        while (!containsJavadocEnding(currentLine)) {
-            javadoc.append(currentLine)
-                   .append(lineSeparator());
-            currentLine = reader.readLine();
+    private static void deleteQuietly(Path file, Exception failure) {
+        try {
+            deleteIfExists(file);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
         }
-        javadoc.append(currentLine);
-        return javadoc.toString();
     }
 
-    private static boolean isJavadocBeginning(String line) {
-        return line.contains("/**");
+    /**
+     * Formats the content of the passed file into a temp file.
+     *
+     * <p>The content is {@linkplain JavadocTokenizer split} into the Javadoc comments and
+     * the code between them in one pass. The code is written as is, and the Javadocs
+     * are formatted.
+     *
+     * <p>If all the actions of this styler are {@linkplain FusibleFormatting fusible},
+     * they are {@linkplain FusedFormatting fused} to format each Javadoc in one pass.
+     *
+     * <p>The temp file is created only when a Javadoc is changed by the formatting.
+     * It is created next to the passed file under a unique name, so that concurrent
+     * formatting of several files, or of the same file, never writes to the same temp file.
+     * If the formatting fails, the temp file is deleted.
+     *
+     * @return the temp file with the formatted content,
+     *         or {@code Optional.empty()} if no Javadoc is changed
+     */
+    private Optional<Path> formatIntoTempFileFrom(Path file) throws IOException {
+        CharBuffer content = read(file);
+        Writing writing = new Writing(file, content, FusedFormatting.of(actions)
+                                                                    .orElse(null));
+        try {
+            JavadocTokenizer.tokenize(content, writing);
+            writing.close();
+        } catch (IOException | RuntimeException e) {
+            writing.discard(e);
+            throw e;
+        }
+        return writing.tempFile();
     }
 
-    private static boolean containsJavadocEnding(String line) {
-        return line.contains("*/");
+    /**
+     * Reads the content of the passed file.
+     *
+     * @throws java.nio.charset.CharacterCodingException
+     *         if the file is not a valid UTF-8 text
+     */
+    private static CharBuffer read(Path file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        return UTF_8.newDecoder()
+                    .decode(bytes);
     }
 
     /**
@@ -191,4 +296,131 @@ public final class JavadocStyler {
         }
         return currentState;
     }
+
+    /**
+     * Writes the code as is, and the Javadocs formatted by the actions of this styler.
+     *
+     * <p>Nothing is written until the first Javadoc changed by the formatting.
+     * Then, the content preceding it is written at once.
+     */
+    private final class Writing implements JavadocTokenizer.Receiver, Closeable {
+
+        private final Path file;
+        private final CharBuffer content;
+
+        /**
+         * The fused actions of the styler, or {@code null} if the actions are applied
+         * one after another.
+         */
+        private final @Nullable FusedFormatting fused;
+
+        /**
+         * The temp file, or {@code null} if no Javadoc is changed so far.
+         */
+        private @Nullable Path tempFile;
+
+        /**
+         * The writer to the temp file, or {@code null} if no Javadoc is changed so far.
+         */
+        private @Nullable Writer writer;
+
+        /**
+         * The number of characters of the content received before any Javadoc is changed.
+         */
+        private int unchanged;
+
+        private Writing(Path file, CharBuffer content, @Nullable FusedFormatting fused) {
+            this.file = file;
+            this.content = content;
+            this.fused = fused;
+        }
+
+        @Override
+        public void code(CharBuffer code) throws IOException {
+            if (writer == null) {
+                unchanged += code.remaining();
+            } else {
+                write(code, writer);
+            }
+        }
+
+        @Override
+        public void javadoc(CharBuffer javadoc) throws IOException {
+            if (fused != null) {
+                boolean changed = fused.format(javadoc);
+                if (changed || writer != null) {
+                    fused.writeTo(open());
+                } else {
+                    unchanged += javadoc.remaining();
+                }
+                return;
+            }
+            String text = javadoc.toString();
+            String formatted = applyActions(text);
+            if (writer != null || !formatted.equals(text)) {
+                open().write(formatted);
+            } else {
+                unchanged += javadoc.remaining();
+            }
+        }
+
+        /**
+         * Obtains the writer to the temp file, creating the file and writing
+         * the unchanged content to it on the first call.
+         */
+        private Writer open() throws IOException {
+            if (writer == null) {
+                Path folder = file.toAbsolutePath()
+                                  .getParent();
+                tempFile = createTempFile(folder, file.getFileName() + ".", TEMP_FILE_SUFFIX);
+                writer = newBufferedWriter(tempFile, UTF_8);
+                write(content.subSequence(0, unchanged), writer);
+            }
+            return writer;
+        }
+
+        /**
+         * Obtains the temp file, if some Javadoc is changed by the formatting.
+         */
+        private Optional<Path> tempFile() {
+            return Optional.ofNullable(tempFile);
+        }
+
+        /**
+         * Closes the temp file, if it is created, and deletes it.
+         *
+         * @param failure
+         *         the failure of the formatting, to which failures to discard are added
+         */
+        private void discard(Exception failure) {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+            if (tempFile != null) {
+                deleteQuietly(tempFile, failure);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the passed characters without copying them, if they are backed by an array.
+     */
+    private static void write(CharBuffer chars, Writer writer) throws IOException {
+        if (chars.hasArray()) {
+            writer.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+        } else {
+            writer.append(chars);
+        }
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Splits Java source code into Javadoc comments and the code between them.
+ *
+ * <p>The source is read character by character in one pass. The tokenizer tracks string and
+ * character literals, text blocks, line comments and block comments, so that the markers of
+ * Javadoc comments found inside them are ignored. For example, none of these starts a Javadoc:
+ * <pre>
+ * String marker = "/**";
+ * // See /** in the docs.
+ * /* Not a Javadoc: /** *&#47;
+ * </pre>
+ *
+ * <p>A Javadoc spans from its opening <code>/**</code> to its closing <code>*&#47;</code>
+ * inclusive, without the code before or after them on the same lines. The empty comment
+ * <code>/**&#47;</code> is not a Javadoc. An unterminated Javadoc is treated as code.
+ *
+ * <p>Unicode escapes in the source code are not translated.
+ */
+final class JavadocTokenizer {
+
+    /**
+     * The states of the tokenizer.
+     */
+    private enum State {
+
+        /** Outside literals and comments. */
+        CODE,
+
+        /** Inside a string literal. */
+        STRING,
+
+        /** Inside a character literal. */
+        CHARACTER,
+
+        /** Inside a text block. */
+        TEXT_BLOCK,
+
+        /** Inside a line comment. */
+        LINE_COMMENT,
+
+        /** Inside a block comment, which is not a Javadoc. */
+        BLOCK_COMMENT,
+
+        /** Inside a Javadoc comment. */
+        JAVADOC
+    }
+
+    private final CharBuffer source;
+    private final Receiver receiver;
+
+    private State state = State.CODE;
+
+    /** The index of the current character. */
+    private int index;
+
+    /** The index of the first character of the code not passed to the receiver yet. */
+    private int codeStart;
+
+    /** The index of the first character of the current Javadoc. */
+    private int javadocStart;
+
+    private JavadocTokenizer(CharBuffer source, Receiver receiver) {
+        this.source = source.slice();
+        this.receiver = receiver;
+    }
+
+    /**
+     * Splits the passed source code, passing the parts to the receiver in the order
+     * of the source.
+     *
+     * <p>The parts are views of the passed buffer between its position and limit.
+     * Joined in the order they are passed, the parts form the whole source.
+     *
+     * @param source
+     *         the source code to split
+     * @param receiver
+     *         the receiver of the code parts and the Javadoc comments
+     * @throws IOException
+     *         if the receiver fails
+     */
+    static void tokenize(CharBuffer source, Receiver receiver) throws IOException {
+        new JavadocTokenizer(source, receiver).run();
+    }
+
+    private void run() throws IOException {
+        int length = source.remaining();
+        while (index < length) {
+            step(source.get(index), length);
+        }
+        if (codeStart < length) {
+            receiver.code(source.subSequence(codeStart, length));
+        }
+    }
+
+    /**
+     * Handles the current character in the current state, advancing the index.
+     */
+    @SuppressWarnings("OverlyComplexMethod") // A state machine is clearer in one place.
+    private void step(char current, int length) throws IOException {
+        switch (state) {
+            case CODE:
+                stepInCode(current, length);
+                return;
+            case STRING:
+                stepInLiteral(current, '"');
+                return;
+            case CHARACTER:
+                stepInLiteral(current, '\'');
+                return;
+            case TEXT_BLOCK:
+                if (current == '\\') {
+                    index += 2;
+                } else if (startsWith("\"\"\"", length)) {
+                    state = State.CODE;
+                    index += 3;
+                } else {
+                    index++;
+                }
+                return;
+            case LINE_COMMENT:
+                if (current == '\n' || current == '\r') {
+                    state = State.CODE;
+                }
+                index++;
+                return;
+            case BLOCK_COMMENT:
+                if (startsWith("*/", length)) {
+                    state = State.CODE;
+                    index += 2;
+                } else {
+                    index++;
+                }
+                return;
+            case JAVADOC:
+                if (startsWith("*/", length)) {
+                    index += 2;
+                    emitJavadoc();
+                } else {
+                    index++;
+                }
+                return;
+            default:
+                throw new IllegalStateException("Unknown state: " + state);
+        }
+    }
+
+    private void stepInCode(char current, int length) {
+        if (current == '"') {
+            if (startsWith("\"\"\"", length)) {
+                state = State.TEXT_BLOCK;
+                index += 3;
+            } else {
+                state = State.STRING;
+                index++;
+            }
+        } else if (current == '\'') {
+            state = State.CHARACTER;
+            index++;
+        } else if (startsWith("//", length)) {
+            state = State.LINE_COMMENT;
+            index += 2;
+        } else if (startsWith("/**", length) && !startsWith("/**/", length)) {
+            state = State.JAVADOC;
+            javadocStart = index;
+            index += 3;
+        } else if (startsWith("/*", length)) {
+            state = State.BLOCK_COMMENT;
+            index += 2;
+        } else {
+            index++;
+        }
+    }
+
+    /**
+     * Handles the current character inside a string or a character literal.
+     *
+     * <p>A literal may not span several lines, so an unterminated one ends at the end of
+     * the line. This way, an error in the source does not hide the rest of it.
+     */
+    private void stepInLiteral(char current, char quote) {
+        if (current == '\\') {
+            index += 2;
+            return;
+        }
+        if (current == quote || current == '\n' || current == '\r') {
+            state = State.CODE;
+        }
+        index++;
+    }
+
+    private void emitJavadoc() throws IOException {
+        if (codeStart < javadocStart) {
+            receiver.code(source.subSequence(codeStart, javadocStart));
+        }
+        receiver.javadoc(source.subSequence(javadocStart, index));
+        codeStart = index;
+        state = State.CODE;
+    }
+
+    /**
+     * Tells if the source has the passed text at the current index.
+     */
+    private boolean startsWith(String text, int length) {
+        int end = index + text.length();
+        if (end > length) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (source.get(index + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Receives the parts of the source code found by the tokenizer.
+     */
+    interface Receiver {
+
+        /**
+         * Receives the code between Javadoc comments, including other comments.
+         */
+        void code(CharBuffer code) throws IOException;
+
+        /**
+         * Receives a Javadoc comment, including its opening and closing markers.
+         */
+        void javadoc(CharBuffer javadoc) throws IOException;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+import io.spine.tools.java.fs.FileName;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.tools.javadoc.style.formatting.FormattingFileVisitor.isVanishedNonSource;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A {@code FileVisitor} for formatting files on several threads.
+ *
+ * <p>The visitor walks the file tree on the calling thread and passes the visited files to
+ * a pool of the given number of threads. The queue of the pool is bounded. When it is full,
+ * the calling thread formats the next file itself, so that walking does not run far ahead
+ * of formatting.
+ *
+ * <p>Only the Java sources are formatted and counted. The files, which disappear while
+ * the tree is walked, such as the temp files of a concurrent formatting, are skipped.
+ *
+ * <p>A failure to format a file does not stop the formatting of the other files.
+ * The failures are {@linkplain #checkNoFailures() reported} together after
+ * the formatting is {@linkplain #awaitCompletion() completed}.
+ */
+final class ParallelFormattingFileVisitor extends SimpleFileVisitor<Path> implements Logging {
+
+    /**
+     * The number of files, which may wait for formatting, per thread of the pool.
+     */
+    private static final int QUEUED_FILES_PER_THREAD = 64;
+
+    private final JavadocStyler formatter;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger visitedFiles = new AtomicInteger();
+    private final AtomicInteger modifiedFiles = new AtomicInteger();
+    private final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+
+    ParallelFormattingFileVisitor(JavadocStyler formatter, int parallelism) {
+        super();
+        this.formatter = formatter;
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * QUEUED_FILES_PER_THREAD),
+                new ThreadFactoryBuilder().setNameFormat("javadoc-style-%d")
+                                          .setDaemon(true)
+                                          .build(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+        if (!FileName.isJava(path)) {
+            return FileVisitResult.CONTINUE;
+        }
+        visitedFiles.incrementAndGet();
+        executor.execute(() -> format(path));
+        return FileVisitResult.CONTINUE;
+    }
+
+    private void format(Path path) {
+        _debug().log("Performing formatting for the file: `%s`.", path);
+        try {
+            if (formatter.format(path)) {
+                modifiedFiles.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.add(newIllegalStateException(e, "Failed to format the file `%s`.", path));
+        }
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        if (isVanishedNonSource(file, exc)) {
+            _debug().log("Skipping the file `%s`, which no longer exists.", file);
+            return FileVisitResult.CONTINUE;
+        }
+        visitedFiles.incrementAndGet();
+        failures.add(newIllegalStateException(exc, "Failed to visit the file `%s`.", file));
+        return FileVisitResult.CONTINUE;
+    }
+
+    /**
+     * Waits until all the visited files are formatted, and stops the threads of the pool.
+     */
+    void awaitCompletion() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                _debug().log("Waiting for %d files to be formatted.",
+                             executor.getQueue()
+                                     .size() + executor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread()
+                  .interrupt();
+            throw newIllegalStateException(e, "Interrupted while formatting the files.");
+        }
+    }
+
+    /**
+     * Throws an {@code IllegalStateException} if some of the visited files failed to format.
+     *
+     * <p>The exception is caused by the first failure, and has the others
+     * {@linkplain Throwable#getSuppressed() suppressed}.
+     */
+    void checkNoFailures() {
+        ImmutableList<Exception> all = ImmutableList.copyOf(failures);
+        if (all.isEmpty()) {
+            return;
+        }
+        IllegalStateException exception = newIllegalStateException(
+                all.get(0), "Failed to format %d of %d files.", all.size(), visitedFiles()
+        );
+        for (Exception failure : all.subList(1, all.size())) {
+            exception.addSuppressed(failure);
+        }
+        throw exception;
+    }
+
+    /**
+     * Obtains the number of the Java sources visited so far.
+     */
+    int visitedFiles() {
+        return visitedFiles.get();
+    }
+
+    /**
+     * Obtains the number of the files modified by the formatting so far.
+     */
+    int modifiedFiles() {
+        return modifiedFiles.get();
+    }
+}
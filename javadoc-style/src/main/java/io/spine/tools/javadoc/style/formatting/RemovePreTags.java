@@ -34,7 +34,7 @@ import static java.util.regex.Pattern.compile;
 /**
  * Removes the {@code <pre>} tags inserted by the Protobuf compiler.
  */
-final class RemovePreTags implements Formatting {
+final class RemovePreTags implements FusibleFormatting {
 
     private static final String OPENING_PRE = "<pre>";
     private static final String CLOSING_PRE = "</pre>";
@@ -79,4 +79,141 @@ final class RemovePreTags implements Formatting {
         return NOT_FORMATTED_DOC_PATTERN.matcher(javadoc)
                                         .matches();
     }
+
+    @Override
+    public FormattingStage newStage() {
+        return new Stage();
+    }
+
+    /**
+     * Finds the generated {@code pre} tags while passing the characters on as is, and removes
+     * the tags from the buffer when the comment is complete.
+     *
+     * <p>The tags are removed under the same conditions as those of
+     * the {@linkplain #shouldFormat(String) non-fused} formatting:
+     * <ol>
+     *     <li>the comment starts with the opening tag, preceded only by spaces and asterisks;
+     *     <li>some closing tag after it is followed by a space or an asterisk;
+     *     <li>the comment ends with the closing marker.
+     * </ol>
+     */
+    private static final class Stage implements FormattingStage {
+
+        private static final String JAVADOC_OPENING = "/**";
+        private static final String JAVADOC_CLOSING = "*/";
+
+        /** The number of characters passed so far. */
+        private int position;
+
+        /** Tells if only spaces and asterisks were passed after the opening marker so far. */
+        private boolean leading;
+
+        /** The number of the characters of the opening tag matched so far. */
+        private int openingMatched;
+
+        /** The number of the characters of the closing tag matched so far. */
+        private int closingMatched;
+
+        /** The position of the leading opening tag, or {@code -1} if not found. */
+        private int openingAt;
+
+        /** The position of the last closing tag, or {@code -1} if not found. */
+        private int lastClosingAt;
+
+        /**
+         * The position after the first closing tag followed by a space or an asterisk,
+         * or {@code -1} if not found.
+         */
+        private int followedClosingEnd;
+
+        @Override
+        public void reset() {
+            position = 0;
+            leading = true;
+            openingMatched = 0;
+            closingMatched = 0;
+            openingAt = -1;
+            lastClosingAt = -1;
+            followedClosingEnd = -1;
+        }
+
+        @Override
+        public void accept(char c, Output next) {
+            if (position >= JAVADOC_OPENING.length() && leading) {
+                matchLeadingOpening(c);
+            }
+            if (openingAt >= 0 && followedClosingEnd < 0 && lastClosingAt >= 0
+                    && position == lastClosingAt + CLOSING_PRE.length()
+                    && isSpaceOrAsterisk(c)) {
+                followedClosingEnd = position;
+            }
+            matchClosing(c);
+            position++;
+            next.put(c);
+        }
+
+        private void matchLeadingOpening(char c) {
+            if (c == OPENING_PRE.charAt(openingMatched)) {
+                openingMatched++;
+                if (openingMatched == OPENING_PRE.length()) {
+                    openingAt = position - OPENING_PRE.length() + 1;
+                    leading = false;
+                }
+            } else if (openingMatched > 0 || !isSpaceOrAsterisk(c)) {
+                leading = false;
+            }
+        }
+
+        private void matchClosing(char c) {
+            if (c == CLOSING_PRE.charAt(closingMatched)) {
+                closingMatched++;
+                if (closingMatched == CLOSING_PRE.length()) {
+                    lastClosingAt = position - CLOSING_PRE.length() + 1;
+                    closingMatched = 0;
+                }
+            } else {
+                closingMatched = c == CLOSING_PRE.charAt(0) ? 1 : 0;
+            }
+        }
+
+        private static boolean isSpaceOrAsterisk(char c) {
+            return c == '*' || c == ' ' || c == '\t' || c == '\n'
+                    || c == '\u000B' || c == '\f' || c == '\r';
+        }
+
+        @Override
+        public boolean editsBuffer() {
+            return true;
+        }
+
+        @Override
+        public void complete(StringBuilder buffer) {
+            if (!shouldFormat(buffer)) {
+                return;
+            }
+            buffer.delete(lastClosingAt, lastClosingAt + CLOSING_PRE.length());
+            buffer.delete(openingAt, openingAt + OPENING_PRE.length());
+        }
+
+        private boolean shouldFormat(StringBuilder buffer) {
+            int length = buffer.length();
+            return openingAt >= 0
+                    && followedClosingEnd >= 0
+                    && length >= followedClosingEnd + 1 + JAVADOC_CLOSING.length()
+                    && regionMatches(buffer, 0, JAVADOC_OPENING)
+                    && regionMatches(buffer, length - JAVADOC_CLOSING.length(), JAVADOC_CLOSING);
+        }
+
+        private static boolean regionMatches(StringBuilder buffer, int start, String text) {
+            if (start < 0 || start + text.length() > buffer.length()) {
+                return false;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (buffer.charAt(start + i) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
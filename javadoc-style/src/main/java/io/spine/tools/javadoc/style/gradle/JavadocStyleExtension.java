@@ -56,6 +56,14 @@ public class JavadocStyleExtension implements Logging {
      */
     private String testGenProtoDir;
 
+    /**
+     * The number of the files formatted at a time.
+     *
+     * <p>By default, equals to {@code 1}, so the files are formatted one by one
+     * and the formatting stops at the first failure.
+     */
+    private int parallelism = 1;
+
     /**
      * Creates the extension in the given project.
      */
@@ -88,6 +96,16 @@ public class JavadocStyleExtension implements Logging {
         return rootPath(project) + File.separator + testGenProtoDir;
     }
 
+    /**
+     * Obtains the number of the files formatted at a time.
+     *
+     * @param project the project to get the {@code parallelism}
+     * @return the configured parallelism
+     */
+    static int getParallelism(Project project) {
+        return findIn(project).parallelism;
+    }
+
     void setMainGenProtoDir(String mainGenProtoDir) {
         this.mainGenProtoDir = mainGenProtoDir;
         _debug().log("Path to main generated Protobufs set to `%s`.", mainGenProtoDir);
@@ -98,6 +116,16 @@ public class JavadocStyleExtension implements Logging {
         _debug().log("Path to test generated Protobufs set to `%s`.", testGenProtoDir);
     }
 
+    void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            String errMsg = format("%s.parallelism must be positive, but was %d.",
+                                   PROTO_JAVADOC_EXTENSION_NAME, parallelism);
+            throw new IllegalArgumentException(errMsg);
+        }
+        this.parallelism = parallelism;
+        _debug().log("Javadoc formatting parallelism set to %d.", parallelism);
+    }
+
     private static void checkExtensionField(@Nullable String value, String name) {
         if (value == null) {
             String errMSg = format("%s.%s was not set.", PROTO_JAVADOC_EXTENSION_NAME, name);
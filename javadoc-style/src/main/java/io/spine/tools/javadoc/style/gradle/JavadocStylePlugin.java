@@ -40,6 +40,7 @@ import static io.spine.tools.gradle.ProtobufTaskName.generateProto;
 import static io.spine.tools.gradle.ProtobufTaskName.generateTestProto;
 import static io.spine.tools.javadoc.style.gradle.JavadocStyleExtension.getAbsoluteMainGenProtoDir;
 import static io.spine.tools.javadoc.style.gradle.JavadocStyleExtension.getAbsoluteTestGenProtoDir;
+import static io.spine.tools.javadoc.style.gradle.JavadocStyleExtension.getParallelism;
 import static io.spine.tools.javadoc.style.gradle.JavadocStyleTaskName.formatProtoDoc;
 import static io.spine.tools.javadoc.style.gradle.JavadocStyleTaskName.formatTestProtoDoc;
 
@@ -57,12 +58,16 @@ import static io.spine.tools.javadoc.style.gradle.JavadocStyleTaskName.formatTes
  * protoJavadoc {
  *     mainGenProtoDir = "directory_with_main_sources"
  *     testGenProtoDir = "directory_with_test_sources"
+ *     parallelism = 4
  * }
  * }</pre>
  *
  * <p>All {@code .java} files in the specified directories (and subdirectories) will be formatted.
  * So, if the folders contain not only the sources generated basing on Protobuf definitions,
  * they will be formatted either.
+ *
+ * <p>The {@code parallelism} is the number of files formatted at a time. It is optional and
+ * defaults to {@code 1}.
  */
 public class JavadocStylePlugin extends SpinePlugin {
 
@@ -96,7 +101,7 @@ public class JavadocStylePlugin extends SpinePlugin {
     private static void formatJavadocs(Project project, TaskType taskType) {
         String genProtoDir = taskType.getGenProtoDir(project);
         Path directory = Paths.get(genProtoDir);
-        JavadocStyler.applyFormattingAt(directory);
+        JavadocStyler.applyFormattingAt(directory, getParallelism(project));
     }
 
     private enum TaskType {
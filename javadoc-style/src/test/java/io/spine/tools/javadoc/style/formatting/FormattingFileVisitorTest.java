@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`FormattingFileVisitor` should")
+class FormattingFileVisitorTest {
+
+    private final FormattingFileVisitor visitor =
+            new FormattingFileVisitor(new JavadocStyler(new BacktickedToCode()));
+
+    @Test
+    @DisplayName("skip a vanished file, which is not a Java source")
+    void skipVanishedTempFile() throws IOException {
+        Path file = Paths.get("Source.java.123.formatting");
+
+        FileVisitResult result = visitor.visitFileFailed(file, new NoSuchFileException("gone"));
+
+        assertThat(result)
+                .isEqualTo(FileVisitResult.CONTINUE);
+    }
+
+    @Test
+    @DisplayName("fail on a vanished Java source")
+    void failOnVanishedSource() {
+        Path file = Paths.get("Source.java");
+        NoSuchFileException exception = new NoSuchFileException("gone");
+
+        IOException thrown = assertThrows(IOException.class,
+                                          () -> visitor.visitFileFailed(file, exception));
+        assertThat(thrown)
+                .isSameInstanceAs(exception);
+    }
+
+    @Test
+    @DisplayName("count only Java sources")
+    void countJavaSources(@TempDir Path dir) throws IOException {
+        Path file = Files.createFile(dir.resolve("Source.java.123.formatting"));
+
+        visitor.visitFile(file, Files.readAttributes(file, BasicFileAttributes.class));
+
+        assertThat(visitor.visitedFiles())
+                .isEqualTo(0);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.System.lineSeparator;
+
+@DisplayName("`FusedFormatting` should")
+class FusedFormattingTest {
+
+    private static final ImmutableList<Formatting> ACTIONS =
+            ImmutableList.of(new BacktickedToCode(), new RemovePreTags());
+
+    private final FusedFormatting fused = FusedFormatting.of(ACTIONS)
+                                                         .orElseThrow(AssertionError::new);
+
+    @Test
+    @DisplayName("not fuse formattings which cannot act as stages")
+    void notFuseOthers() {
+        Formatting upperCase = text -> text.toUpperCase();
+
+        assertThat(FusedFormatting.of(ImmutableList.of(new BacktickedToCode(), upperCase))
+                                  .isPresent())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("not fuse formattings editing the buffer before other formattings")
+    void notFuseEditingFirst() {
+        ImmutableList<Formatting> reversed =
+                ImmutableList.of(new RemovePreTags(), new BacktickedToCode());
+
+        assertThat(FusedFormatting.of(reversed)
+                                  .isPresent())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("replace backticks and remove generated `pre` tags in one pass")
+    void formatInOnePass() {
+        String javadoc = "/**" + lineSeparator()
+                + " * <pre>" + lineSeparator()
+                + " * The `value` field." + lineSeparator()
+                + " * </pre>" + lineSeparator()
+                + " *" + lineSeparator()
+                + " * <code>string value = 1;</code>" + lineSeparator()
+                + " */";
+
+        assertThat(fused.apply(javadoc))
+                .isEqualTo(sequentially(javadoc));
+        assertThat(fused.apply(javadoc))
+                .contains("{@code value}");
+        assertThat(fused.apply(javadoc))
+                .doesNotContain("pre>");
+    }
+
+    @Test
+    @DisplayName("keep backticks not closed on the same line")
+    void keepUnclosed() {
+        String javadoc = "/** `not" + lineSeparator() + " * closed` */";
+
+        assertThat(fused.apply(javadoc))
+                .isEqualTo(javadoc);
+    }
+
+    @Test
+    @DisplayName("write the result")
+    void write() throws IOException {
+        StringWriter writer = new StringWriter();
+        fused.format("/** `a` */");
+        fused.writeTo(writer);
+        fused.format("/** `b` */");
+        fused.writeTo(writer);
+
+        assertThat(writer.toString())
+                .isEqualTo("/** {@code a} *//** {@code b} */");
+    }
+
+    @Test
+    @DisplayName("give the same result as the formattings applied one after another")
+    void sameAsSequential() {
+        ImmutableList<String> tokens = ImmutableList.of(
+                "`", "<pre>", "</pre>", "<", "/", "*", " ", "a", lineSeparator()
+        );
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder body = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                body.append(tokens.get(random.nextInt(tokens.size())));
+            }
+            String javadoc = "/**" + body + "*/";
+
+            assertThat(fused.apply(javadoc))
+                    .isEqualTo(sequentially(javadoc));
+        }
+    }
+
+    private static String sequentially(String javadoc) {
+        String result = javadoc;
+        for (Formatting action : ACTIONS) {
+            result = action.apply(result);
+        }
+        return result;
+    }
+}
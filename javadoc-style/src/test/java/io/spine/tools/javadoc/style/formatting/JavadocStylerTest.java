@@ -39,15 +39,29 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.string.Diags.backtick;
 import static io.spine.tools.javadoc.style.formatting.BacktickedToCode.wrapWithCodeTag;
 import static java.lang.System.lineSeparator;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.getFileAttributeView;
 import static java.nio.file.Files.readAllLines;
 import static java.nio.file.Files.write;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("`JavadocFormatter` should")
 class JavadocStylerTest {
@@ -93,6 +107,46 @@ class JavadocStylerTest {
                     .isEqualTo(expected);
         }
 
+        @Test
+        @DisplayName("remove `pre` tags before replacing backticks as if done one after another")
+        void removePreTagsFirst() throws Exception {
+            JavadocStyler reversed = new JavadocStyler(new RemovePreTags(), new BacktickedToCode());
+            String javadoc = "/** <pre> `a` </pre> x */";
+            String expected = new BacktickedToCode().apply(new RemovePreTags().apply(javadoc));
+            String formatted = applyFormatting(reversed, javadoc);
+
+            assertThat(formatted)
+                    .isEqualTo(expected);
+            assertThat(formatted)
+                    .isEqualTo("/**  {@code a}  x */");
+        }
+
+        @Test
+        @DisplayName("remove `pre` tags from indented Javadocs of nested declarations")
+        void removePreTagsIndented() throws Exception {
+            JavadocStyler styler = new JavadocStyler(new BacktickedToCode(), new RemovePreTags());
+            String nested = Joiner.on(lineSeparator())
+                                  .join("public final class Outer {",
+                                        "  /**",
+                                        "   * <pre>",
+                                        "   * The `nested` message.",
+                                        "   * </pre>",
+                                        "   *",
+                                        "   * Protobuf type {@code Outer.Nested}",
+                                        "   */",
+                                        "  public static final class Nested {",
+                                        "  }",
+                                        "}");
+            String formatted = applyFormatting(styler, nested);
+
+            assertThat(formatted)
+                    .doesNotContain("pre>");
+            assertThat(formatted)
+                    .contains("   * The {@code nested} message.");
+            assertThat(formatted)
+                    .startsWith("public final class Outer {" + lineSeparator() + "  /**");
+        }
+
         @Test
         @DisplayName("not format non-Javadoc text")
         void notFormatNonJavadoc() throws Exception {
@@ -101,11 +155,204 @@ class JavadocStylerTest {
                     .isEqualTo(TEXT_IN_BACKTICKS);
         }
 
+        @Test
+        @DisplayName("not format the code around Javadocs")
+        void notFormatAroundJavadocs() throws Exception {
+            String code = "String s = \"/** " + TEXT_IN_BACKTICKS + "\"; ";
+            String javadoc = wrapAsJavadoc(TEXT_IN_BACKTICKS);
+            String formatted = applyFormatting(code + javadoc + ' ' + TEXT_IN_BACKTICKS);
+
+            assertThat(formatted)
+                    .isEqualTo(code + wrapAsJavadoc(TEXT_IN_CODE_TAG) + ' ' + TEXT_IN_BACKTICKS);
+        }
+
+        @Test
+        @DisplayName("not rewrite a file with unchanged Javadocs")
+        void notRewriteUnchanged() throws Exception {
+            Path path = createJavaFile();
+            write(path, ImmutableList.of(wrapAsJavadoc(TEXT_IN_CODE_TAG)));
+            FileTime modified = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(path, modified);
+
+            boolean rewritten = styler.format(path);
+
+            assertThat(rewritten)
+                    .isFalse();
+            assertThat(Files.getLastModifiedTime(path))
+                    .isEqualTo(modified);
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertThat(files.collect(toList()))
+                        .containsExactly(path);
+            }
+        }
+
+        @Test
+        @DisplayName("tell that a file is rewritten")
+        void tellRewritten() throws Exception {
+            Path path = createJavaFile();
+            write(path, ImmutableList.of(wrapAsJavadoc(TEXT_IN_CODE_TAG),
+                                         wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+
+            boolean rewritten = styler.format(path);
+
+            assertThat(rewritten)
+                    .isTrue();
+            assertThat(readAllLines(path, UTF_8))
+                    .containsExactly(wrapAsJavadoc(TEXT_IN_CODE_TAG),
+                                     wrapAsJavadoc(TEXT_IN_CODE_TAG));
+        }
+
+        @Test
+        @DisplayName("count the files rewritten in a directory")
+        void countRewritten() throws Exception {
+            Path changed = tempDir.resolve("Changed.java");
+            Path unchanged = tempDir.resolve("Unchanged.java");
+            write(changed, ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+            write(unchanged, ImmutableList.of(wrapAsJavadoc(TEXT_IN_CODE_TAG)));
+
+            int rewritten = JavadocStyler.applyFormattingAt(tempDir);
+
+            assertThat(rewritten)
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("leave no temp files")
+        void leaveNoTempFiles() throws Exception {
+            Path path = createJavaFile();
+            write(path, ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+
+            styler.format(path);
+
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertThat(files.collect(toList()))
+                        .containsExactly(path);
+            }
+        }
+
+        @Test
+        @DisplayName("keep the permissions of a rewritten file")
+        void keepPermissions() throws Exception {
+            Path path = createJavaFile();
+            assumeTrue(getFileAttributeView(path, PosixFileAttributeView.class) != null);
+            write(path, ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+            Files.setPosixFilePermissions(path, permissions);
+
+            styler.format(path);
+
+            assertThat(Files.getPosixFilePermissions(path))
+                    .isEqualTo(permissions);
+        }
+
+        @Test
+        @DisplayName("format the same files concurrently")
+        void formatConcurrently() throws Exception {
+            int count = 200;
+            for (int i = 0; i < count; i++) {
+                write(tempDir.resolve("File" + i + ".java"),
+                      ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+            }
+            FormattingFileVisitor sequential = new FormattingFileVisitor(styler);
+            ParallelFormattingFileVisitor parallel = new ParallelFormattingFileVisitor(styler, 4);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Callable<Path> sequentialRun = () -> Files.walkFileTree(tempDir, sequential);
+                Callable<Path> parallelRun = () -> {
+                    try {
+                        return Files.walkFileTree(tempDir, parallel);
+                    } finally {
+                        parallel.awaitCompletion();
+                    }
+                };
+                List<Future<Path>> results =
+                        executor.invokeAll(ImmutableList.of(sequentialRun, parallelRun));
+                for (Future<Path> result : results) {
+                    result.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            parallel.checkNoFailures();
+
+            assertThat(sequential.visitedFiles())
+                    .isEqualTo(count);
+            assertThat(parallel.visitedFiles())
+                    .isEqualTo(count);
+            try (Stream<Path> files = Files.list(tempDir)) {
+                List<Path> all = files.collect(toList());
+                assertThat(all)
+                        .hasSize(count);
+                for (Path file : all) {
+                    assertThat(readAllLines(file, UTF_8))
+                            .containsExactly(wrapAsJavadoc(TEXT_IN_CODE_TAG));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("format files in parallel")
+        void formatInParallel() throws Exception {
+            int count = 100;
+            for (int i = 0; i < count; i++) {
+                Path dir = tempDir.resolve("dir" + i % 3);
+                Files.createDirectories(dir);
+                write(dir.resolve("File" + i + ".java"),
+                      ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+            }
+
+            int rewritten = JavadocStyler.applyFormattingAt(tempDir, 4);
+
+            assertThat(rewritten)
+                    .isEqualTo(count);
+            try (Stream<Path> files = Files.walk(tempDir)) {
+                List<Path> javaFiles = files.filter(Files::isRegularFile)
+                                            .collect(toList());
+                assertThat(javaFiles)
+                        .hasSize(count);
+                for (Path file : javaFiles) {
+                    assertThat(readAllLines(file, UTF_8))
+                            .containsExactly(wrapAsJavadoc(TEXT_IN_CODE_TAG));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("report all the failures of the parallel formatting")
+        void aggregateFailures() throws Exception {
+            byte[] malformed = {(byte) 0xC3, (byte) 0x28};
+            Files.write(tempDir.resolve("First.java"), malformed);
+            Files.write(tempDir.resolve("Second.java"), malformed);
+            Path valid = tempDir.resolve("Valid.java");
+            write(valid, ImmutableList.of(wrapAsJavadoc(TEXT_IN_BACKTICKS)));
+
+            IllegalStateException exception = assertThrows(
+                    IllegalStateException.class,
+                    () -> JavadocStyler.applyFormattingAt(tempDir, 2)
+            );
+
+            assertThat(exception.getSuppressed())
+                    .hasLength(1);
+            assertThat(readAllLines(valid, UTF_8))
+                    .containsExactly(wrapAsJavadoc(TEXT_IN_CODE_TAG));
+        }
+
+        @Test
+        @DisplayName("not accept non-positive parallelism")
+        void rejectNonPositiveParallelism() {
+            assertThrows(IllegalArgumentException.class,
+                         () -> JavadocStyler.applyFormattingAt(tempDir, 0));
+        }
+
         private String wrapAsJavadoc(String javadocText) {
             return "/** " + javadocText + " */";
         }
 
         private String applyFormatting(String content) throws IOException {
+            return applyFormatting(styler, content);
+        }
+
+        private String applyFormatting(JavadocStyler styler, String content) throws IOException {
             Path path = createJavaFile();
             write(path, ImmutableList.of(content));
 
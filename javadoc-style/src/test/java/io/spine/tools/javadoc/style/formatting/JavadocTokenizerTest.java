@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.tools.javadoc.style.formatting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`JavadocTokenizer` should")
+class JavadocTokenizerTest {
+
+    @Test
+    @DisplayName("find a Javadoc")
+    void findJavadoc() throws IOException {
+        Parts parts = tokenize("class A {\n    /** Doc. */\n    void m() {}\n}\n");
+
+        assertThat(parts.javadocs)
+                .containsExactly("/** Doc. */");
+        assertThat(parts.joined())
+                .isEqualTo(parts.source);
+    }
+
+    @Test
+    @DisplayName("find a Javadoc spanning several lines")
+    void findMultiLine() throws IOException {
+        String javadoc = "/**\n * First.\n *\n * <p>Second.\n */";
+        Parts parts = tokenize("package a;\n\n" + javadoc + "\nclass A {}\n");
+
+        assertThat(parts.javadocs)
+                .containsExactly(javadoc);
+    }
+
+    @Test
+    @DisplayName("exclude the code on the lines of the markers")
+    void excludeCodeOnSameLine() throws IOException {
+        Parts parts = tokenize("int a; /** Doc. */ int b;\n");
+
+        assertThat(parts.javadocs)
+                .containsExactly("/** Doc. */");
+        assertThat(parts.code)
+                .containsExactly("int a; ", " int b;\n");
+    }
+
+    @Test
+    @DisplayName("ignore markers in string and character literals")
+    void ignoreLiterals() throws IOException {
+        Parts parts = tokenize("String s = \"/** \\\" */\"; char c = '\\''; /** Doc. */\n");
+
+        assertThat(parts.javadocs)
+                .containsExactly("/** Doc. */");
+    }
+
+    @Test
+    @DisplayName("ignore markers in text blocks")
+    void ignoreTextBlocks() throws IOException {
+        Parts parts = tokenize("String s = \"\"\"\n    /** \"quoted\" */\n    \"\"\";\n");
+
+        assertThat(parts.javadocs)
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("ignore markers in line and block comments")
+    void ignoreComments() throws IOException {
+        Parts parts = tokenize("// See /** here.\n/* Not /** a Javadoc. */\n/**/\n");
+
+        assertThat(parts.javadocs)
+                .isEmpty();
+        assertThat(parts.joined())
+                .isEqualTo(parts.source);
+    }
+
+    @Test
+    @DisplayName("treat an unterminated Javadoc as code")
+    void unterminated() throws IOException {
+        Parts parts = tokenize("class A {}\n/** Doc.\n");
+
+        assertThat(parts.javadocs)
+                .isEmpty();
+        assertThat(parts.joined())
+                .isEqualTo(parts.source);
+    }
+
+    @Test
+    @DisplayName("read the buffer from its position")
+    void readFromPosition() throws IOException {
+        CharBuffer buffer = CharBuffer.wrap("ignored /** Doc. */ code");
+        buffer.position("ignored ".length());
+        Parts parts = new Parts(buffer.toString());
+        JavadocTokenizer.tokenize(buffer, parts);
+
+        assertThat(parts.javadocs)
+                .containsExactly("/** Doc. */");
+        assertThat(parts.code)
+                .containsExactly(" code");
+    }
+
+    private static Parts tokenize(String source) throws IOException {
+        Parts parts = new Parts(source);
+        JavadocTokenizer.tokenize(CharBuffer.wrap(source), parts);
+        return parts;
+    }
+
+    /**
+     * Collects the parts found by the tokenizer.
+     */
+    private static final class Parts implements JavadocTokenizer.Receiver {
+
+        private final String source;
+        private final List<String> code = new ArrayList<>();
+        private final List<String> javadocs = new ArrayList<>();
+        private final StringBuilder all = new StringBuilder();
+
+        private Parts(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public void code(CharBuffer code) {
+            this.code.add(code.toString());
+            all.append(code);
+        }
+
+        @Override
+        public void javadoc(CharBuffer javadoc) {
+            javadocs.add(javadoc.toString());
+            all.append(javadoc);
+        }
+
+        private String joined() {
+            return all.toString();
+        }
+    }
+}